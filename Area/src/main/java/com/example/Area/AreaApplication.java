@@ -1,8 +1,13 @@
 package com.example.Area;
 
+import com.example.Area.config.AppConfig;
+import com.example.Area.fanout.FanOutInterceptor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
@@ -13,8 +18,11 @@ public class AreaApplication {
 	}
 
 	@Bean
-	public RestTemplate restTemplate(){
-		return new RestTemplate();
+	public RestTemplate restTemplate(RestTemplateBuilder builder,
+									 MappingJackson2CborHttpMessageConverter cbor,
+									 MappingJackson2SmileHttpMessageConverter smile,
+									 FanOutInterceptor fanOutInterceptor){
+		return AppConfig.preferBinaryFormats(builder.additionalInterceptors(fanOutInterceptor).build(), cbor, smile);
 	}
 
 }
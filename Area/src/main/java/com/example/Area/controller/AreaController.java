@@ -3,11 +3,15 @@ package com.example.Area.controller;
 
 import com.example.Area.entity.Area;
 import com.example.Area.dto.AreaDTO;
+import com.example.Area.dto.CursorPage;
+import com.example.Area.mapper.AreaMapper;
 import com.example.Area.service.AreaService;
-import org.modelmapper.ModelMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -22,7 +26,7 @@ public class AreaController {
     private AreaService areaService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private AreaMapper areaMapper;
 
     /**
      * Retrieves all areas.
@@ -32,10 +36,22 @@ public class AreaController {
     public List<AreaDTO> getAllAreas(){
         List<Area> areas = areaService.getAllAreas();
         return areas.stream()
-                .map(area -> modelMapper.map(area, AreaDTO.class))
+                .map(areaMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves a page of areas ordered by ID.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of areas to return.
+     * @return The page of areas and the cursor of the next page.
+     */
+    @GetMapping(params = "size")
+    public CursorPage<AreaDTO> getAreasPage(@RequestParam(required = false) String cursor, @RequestParam int size){
+        return areaService.getAreasPage(cursor, size)
+                .map(areaMapper::toDTO);
+    }
+
     /**
      * Retrieves an area by its ID.
      * @param id The ID of the area to retrieve.
@@ -91,6 +107,17 @@ public class AreaController {
         return areaService.updateArea(area);
     }
 
+    /**
+     * Partially updates an area with a JSON merge patch.
+     * @param id The ID of the area to patch.
+     * @param patch The fields to change.
+     * @return The patched area.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public Area patchArea(@PathVariable Long id, @RequestBody JsonNode patch){
+        return areaService.patchArea(id, patch);
+    }
+
     /**
      * Deletes an area by its ID.
      * @param id The ID of the area to delete.
@@ -105,4 +132,9 @@ public class AreaController {
         List<Area> areas = areaService.getAreasWithMostProjects();
         return new ResponseEntity<>(areas, HttpStatus.OK);
     }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConflict(ObjectOptimisticLockingFailureException e){
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Area was modified concurrently, reload it and retry");
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.Area.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A page of a keyset (cursor) paginated listing. The cursor is an opaque token
+ * wrapping the id of the last element returned; it is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}.
+     *
+     * @param rows The rows fetched, ordered by id.
+     * @param size The requested page size.
+     * @param idOf Extracts the id of a row.
+     * @return The page, with a next cursor if more rows are available.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, ToLongFunction<T> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, size));
+        return new CursorPage<>(items, encodeCursor(idOf.applyAsLong(items.get(size - 1))));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public static void validateSize(int size) {
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+    }
+
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the id to continue after.
+     *
+     * @param cursor The cursor, or null/empty for the first page.
+     * @return The last id already returned, or 0 for the first page.
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -4,18 +4,18 @@ package com.example.Area.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 @Entity
+@DynamicUpdate
 @Table(name = "area")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Area {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,4 +31,15 @@ public class Area {
     private String description;
 
     private Long projectId;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Area(long id, String name, String description, Long projectId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.projectId = projectId;
+    }
 }
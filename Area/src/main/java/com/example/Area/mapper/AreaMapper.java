@@ -0,0 +1,28 @@
+package com.example.Area.mapper;
+
+import com.example.Area.dto.AreaDTO;
+import com.example.Area.dto.Project;
+import com.example.Area.entity.Area;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps areas to the DTOs returned by the API, without reflection.
+ */
+@Component
+public class AreaMapper {
+
+    /**
+     * Maps an area to its DTO. The project only carries its ID, and is left null when the
+     * area has none.
+     * @param area The area to map.
+     * @return The DTO of the area.
+     */
+    public AreaDTO toDTO(Area area){
+        Project project = null;
+        if (area.getProjectId() != null){
+            project = new Project();
+            project.setId(area.getProjectId().intValue());
+        }
+        return new AreaDTO(area.getId(), area.getName(), area.getDescription(), project);
+    }
+}
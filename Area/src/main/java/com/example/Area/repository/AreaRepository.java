@@ -1,10 +1,14 @@
 package com.example.Area.repository;
 
 import com.example.Area.entity.Area;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AreaRepository extends JpaRepository<Area, Long> {
 
+    List<Area> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
 }
@@ -1,19 +1,27 @@
 package com.example.Area.service;
 
 
+import com.example.Area.dto.CursorPage;
 import com.example.Area.dto.Project;
 import com.example.Area.entity.Area;
 import com.example.Area.repository.AreaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.*;
 
 
@@ -28,6 +36,9 @@ public class AreaService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Retrieves all areas.
      * @return List of all areas.
@@ -47,6 +58,19 @@ public class AreaService {
         }
     }
 
+    /**
+     * Retrieves a page of areas ordered by ID, starting after the given cursor.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of areas to return.
+     * @return The page of areas.
+     */
+    public CursorPage<Area> getAreasPage(String cursor, int size){
+        CursorPage.validateSize(size);
+        List<Area> areas = areaRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        return CursorPage.of(areas, size, Area::getId);
+    }
+
     /**
      * Retrieves an area by ID.
      //* @param areaId The ID of the area to retrieve.
@@ -139,6 +163,38 @@ public class AreaService {
         return areaRepository.save(existingArea);
     }
 
+    /**
+     * Applies a JSON merge patch to an area, writing only the supplied fields.
+     * If the patch carries a version, it must match the stored one.
+     * @param id The ID of the area to patch.
+     * @param patch The JSON merge patch document.
+     * @return The patched area.
+     * @throws EntityNotFoundException If the area is not found.
+     * @throws ObjectOptimisticLockingFailureException If the area was modified concurrently.
+     */
+    @Transactional
+    public Area patchArea(Long id, JsonNode patch){
+        if (patch == null || !patch.isObject()){
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        Area area = areaRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Area with Id " + id + " not found"));
+
+        JsonNode expectedVersion = patch.get("version");
+        if (expectedVersion != null && !expectedVersion.isNull() && expectedVersion.asLong() != area.getVersion()){
+            throw new ObjectOptimisticLockingFailureException(Area.class, id);
+        }
+
+        ObjectNode changes = ((ObjectNode) patch).deepCopy();
+        changes.remove(List.of("id", "version"));
+        try {
+            objectMapper.readerForUpdating(area).readValue(changes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage());
+        }
+        return areaRepository.saveAndFlush(area);
+    }
+
     /**
      * Deletes an area by ID.
      * @param areaId The ID of the area to be deleted.
@@ -1,5 +1,5 @@
-insert into area(name, description, project_Id) values ('IT', 'Informatica', 2);
-insert into area(name, description, project_Id) values ('RH', 'Recursos', 1);
-insert into area(name, description, project_Id) values ('RH', 'Recursos', 1);
+insert into area(name, description, project_Id, version) values ('IT', 'Informatica', 2, 0);
+insert into area(name, description, project_Id, version) values ('RH', 'Recursos', 1, 0);
+insert into area(name, description, project_Id, version) values ('RH', 'Recursos', 1, 0);
 
 --insert into area(name, description) values ('RH', 'Recursos');
\ No newline at end of file
@@ -1,15 +1,15 @@
 package com.example.Area.controller;
 
 import com.example.Area.dto.AreaDTO;
-import com.example.Area.dto.Project;
 import com.example.Area.entity.Area;
+import com.example.Area.mapper.AreaMapper;
 import com.example.Area.service.AreaService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -20,7 +20,6 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,18 +28,13 @@ class AreaControllerTest {
     @Mock
     private AreaService areaService;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private AreaMapper areaMapper = new AreaMapper();
     @InjectMocks
     private AreaController areaController;
 
     @Test
     void getAllAreas() {
-        when(modelMapper.map(any(), eq(AreaDTO.class))).thenAnswer(invocationOnMock -> {
-            Area source = invocationOnMock.getArgument(0);
-            return new AreaDTO(source.getId(), source.getName(), source.getDescription(), new Project());
-        });
-
         Area area1 = new Area(1L, "Area1", "AreaDes", 1L);
         Area area2 = new Area(2L, "Area2", "AreaDes", 1L);
 
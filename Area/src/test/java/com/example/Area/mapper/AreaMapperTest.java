@@ -0,0 +1,31 @@
+package com.example.Area.mapper;
+
+import com.example.Area.dto.AreaDTO;
+import com.example.Area.entity.Area;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AreaMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final AreaMapper areaMapper = new AreaMapper();
+
+    @Test
+    void matchesModelMapper() throws Exception {
+        List<Area> areas = List.of(
+                new Area(1L, "Area1", "AreaDes", 5L),
+                new Area(2L, "No project", "AreaDes", null),
+                new Area());
+
+        for (Area area : areas) {
+            assertEquals(objectMapper.writeValueAsString(modelMapper.map(area, AreaDTO.class)),
+                    objectMapper.writeValueAsString(areaMapper.toDTO(area)));
+        }
+    }
+}
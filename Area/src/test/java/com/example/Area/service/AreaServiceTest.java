@@ -1,18 +1,24 @@
 package com.example.Area.service;
 
+import com.example.Area.dto.CursorPage;
 import com.example.Area.dto.Project;
 import com.example.Area.entity.Area;
 import com.example.Area.repository.AreaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
@@ -29,6 +35,9 @@ class AreaServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private AreaService areaService;
 
@@ -46,6 +55,17 @@ class AreaServiceTest {
         verify(areaRepository, times(1)).findAll();
     }
 
+    @Test
+    void getAreasPage() {
+        List<Area> areas = List.of(new Area(1L, "IT", "Informatica", 2L), new Area(2L, "RH", "Recursos", 1L));
+        when(areaRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(areas);
+
+        CursorPage<Area> page = areaService.getAreasPage("", 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(1L, CursorPage.decodeCursor(page.nextCursor()));
+    }
+
     @Test
     void getAreaById() {
         Long id = 1L;
@@ -142,4 +162,31 @@ class AreaServiceTest {
         assertEquals(1L, result.get(0).getId());
         assertEquals(2L, result.get(1).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void patchArea() throws Exception {
+        Area area = new Area(1L, "Area A", "Description A", 1L);
+        when(areaRepository.findById(1L)).thenReturn(Optional.of(area));
+        when(areaRepository.saveAndFlush(area)).thenReturn(area);
+
+        JsonNode patch = new ObjectMapper().readTree("{\"name\": \"Area B\", \"id\": 99, \"version\": 0}");
+        Area result = areaService.patchArea(1L, patch);
+
+        assertEquals("Area B", result.getName());
+        assertEquals(1L, result.getId());
+        verify(areaRepository).saveAndFlush(area);
+    }
+
+    @Test
+    void patchAreaWithStaleVersion() throws Exception {
+        Area area = new Area(1L, "Area A", "Description A", 1L);
+        area.setVersion(3);
+        when(areaRepository.findById(1L)).thenReturn(Optional.of(area));
+
+        JsonNode patch = new ObjectMapper().readTree("{\"name\": \"Area B\", \"version\": 2}");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> areaService.patchArea(1L, patch));
+        assertEquals("Area A", area.getName());
+        verify(areaRepository, never()).saveAndFlush(any());
+    }
+}
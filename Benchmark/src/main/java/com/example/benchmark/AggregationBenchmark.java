@@ -0,0 +1,81 @@
+package com.example.benchmark;
+
+import com.example.ticket.dto.ProjectProgressSummary;
+import com.example.ticket.dto.TicketProgress;
+import com.example.ticket.readmodel.ProjectProgressRollups;
+import com.example.ticket.readmodel.ProjectTicketCounts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory read models behind {@code getTopProjectTicketsByProgress} and
+ * {@code getTicketCountByProject}: their read paths, the per-write updates and the full rebuild
+ * done at startup and on drift.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"10000", "100000"})
+    int rows;
+
+    private List<TicketProgress> progress;
+    private Map<Long, Long> counts;
+    private final ProjectProgressRollups rollups = new ProjectProgressRollups();
+    private final ProjectTicketCounts ticketCounts = new ProjectTicketCounts();
+
+    @Setup
+    public void setUp() {
+        progress = Fixtures.tickets(rows).stream().map(TicketProgress::of).toList();
+        counts = new HashMap<>();
+        for (TicketProgress ticket : progress) {
+            counts.merge(ticket.projectId(), 1L, Long::sum);
+        }
+        rollups.rebuild(progress);
+        ticketCounts.reconcile(counts);
+    }
+
+    @Benchmark
+    public List<ProjectProgressSummary> progressSummaries() {
+        return rollups.summaries();
+    }
+
+    @Benchmark
+    public void progressUpdate() {
+        TicketProgress ticket = progress.get(ThreadLocalRandom.current().nextInt(rows));
+        rollups.apply(new TicketProgress(ticket.id(), ticket.projectId(), ticket.estimate(),
+                ThreadLocalRandom.current().nextInt(101)));
+    }
+
+    @Benchmark
+    public ProjectProgressRollups progressRebuild() {
+        ProjectProgressRollups rebuilt = new ProjectProgressRollups();
+        rebuilt.rebuild(progress);
+        return rebuilt;
+    }
+
+    @Benchmark
+    public Map<Long, Integer> ticketCountSnapshot() {
+        return ticketCounts.snapshot();
+    }
+
+    @Benchmark
+    public void ticketCountMove() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ticketCounts.move((long) random.nextInt(Fixtures.PROJECTS), (long) random.nextInt(Fixtures.PROJECTS));
+    }
+
+    @Benchmark
+    public int ticketCountReconcile() {
+        return ticketCounts.reconcile(counts);
+    }
+}
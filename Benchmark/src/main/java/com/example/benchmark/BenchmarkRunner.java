@@ -0,0 +1,31 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Runs JMH with the given options and, unless a result
+ * format is given, writes the results as JSON to {@code jmh-result.json} so runs of different
+ * releases can be diffed.
+ * <p>
+ * Build: {@code mvn -f ../Ticket install -DskipTests}, then {@code mvn package} in this module.
+ * Run: {@code java -jar target/benchmarks.jar [JMH options, e.g. Repository -p rows=10000]}.
+ */
+public class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(0, List.of("-rf", "json"));
+            if (!options.contains("-rff")) {
+                options.addAll(2, List.of("-rff", DEFAULT_RESULT_FILE));
+            }
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
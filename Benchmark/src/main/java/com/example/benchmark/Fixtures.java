@@ -0,0 +1,40 @@
+package com.example.benchmark;
+
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic ticket data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    static final int PROJECTS = 1000;
+    static final int PEOPLE = 5000;
+    static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private Fixtures() {
+    }
+
+    static Ticket ticket(long id) {
+        int i = (int) id;
+        return new Ticket(id, "Ticket " + id, "Description of ticket " + id,
+                TicketStatus.values()[i % TicketStatus.values().length],
+                TicketType.values()[i % TicketType.values().length],
+                TicketPriority.values()[i % TicketPriority.values().length],
+                i % 101, i % 40, EPOCH.plusMinutes(id), null, id % PROJECTS, id % PEOPLE);
+    }
+
+    static List<Ticket> tickets(int size) {
+        List<Ticket> tickets = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            tickets.add(ticket(id));
+        }
+        return tickets;
+    }
+}
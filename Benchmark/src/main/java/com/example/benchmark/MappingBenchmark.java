@@ -0,0 +1,54 @@
+package com.example.benchmark;
+
+import com.example.ticket.dto.TicketDTO;
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.mapper.TicketMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a ticket listing: {@link TicketMapper} against the reflective
+ * ModelMapper it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1000"})
+    int size;
+
+    private List<Ticket> tickets;
+    private final TicketMapper ticketMapper = new TicketMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Setup
+    public void setUp() {
+        tickets = Fixtures.tickets(size);
+    }
+
+    @Benchmark
+    public List<TicketDTO> ticketMapper() {
+        List<TicketDTO> dtos = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            dtos.add(ticketMapper.toDTO(ticket));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<TicketDTO> modelMapper() {
+        List<TicketDTO> dtos = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            dtos.add(modelMapper.map(ticket, TicketDTO.class));
+        }
+        return dtos;
+    }
+}
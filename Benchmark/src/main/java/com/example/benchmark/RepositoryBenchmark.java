@@ -0,0 +1,135 @@
+package com.example.benchmark;
+
+import com.example.ticket.dto.ProjectProgressSummary;
+import com.example.ticket.dto.TicketProgress;
+import com.example.ticket.dto.TicketSearchCriteria;
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import com.example.ticket.repository.TicketRepository;
+import com.example.ticket.repository.TicketSpecifications;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link TicketRepository} queries of the hot paths against an in-memory H2 database holding
+ * {@code rows} tickets, with the schema and indexes Hibernate generates for the ticket service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private TicketRepository ticketRepository;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Ticket.class)
+    @EnableJpaRepositories(basePackageClasses = TicketRepository.class)
+    static class Persistence {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Persistence.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.name=benchmark",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:tickets" + rows + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false")
+                .run();
+        ticketRepository = context.getBean(TicketRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // drop the sample rows of the service's import.sql
+        jdbcTemplate.execute("TRUNCATE TABLE ticket");
+        jdbcTemplate.update(
+                "INSERT INTO ticket (id, title, description, status, type, priority, progress, estimate, " +
+                        "created_at, project_id, people_id, version) " +
+                        "SELECT X, 'Ticket ' || X, 'Description of ticket ' || X, " +
+                        byModulo(TicketStatus.values()) + ", " + byModulo(TicketType.values()) + ", " +
+                        byModulo(TicketPriority.values()) + ", MOD(X, 101), MOD(X, 40), " +
+                        "DATEADD(MINUTE, X, TIMESTAMP '2024-01-01 00:00:00'), " +
+                        "MOD(X, " + Fixtures.PROJECTS + "), MOD(X, " + Fixtures.PEOPLE + "), 0 " +
+                        "FROM SYSTEM_RANGE(1, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).execute("SHUTDOWN");
+        context.close();
+    }
+
+    /** Picks the enum constant of index {@code X mod n}, the way {@link Fixtures#ticket} does. */
+    private static String byModulo(Enum<?>[] values) {
+        return IntStream.range(0, values.length)
+                .mapToObj(i -> "WHEN " + i + " THEN '" + values[i].name() + "'")
+                .collect(Collectors.joining(" ", "CASE MOD(X, " + values.length + ") ", " END"));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    @Benchmark
+    public Optional<Ticket> findById() {
+        return ticketRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Ticket> cursorPage() {
+        return ticketRepository.findByIdGreaterThanOrderByIdAsc(randomId(), Limit.of(50));
+    }
+
+    @Benchmark
+    public List<Ticket> searchByStatusAndPriority() {
+        TicketSearchCriteria criteria = new TicketSearchCriteria(TicketStatus.IN_PROGRESS, TicketPriority.HIGH,
+                null, null, null, null, null);
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+        return ticketRepository.findBy(TicketSpecifications.matching(criteria),
+                query -> query.sortBy(sort).limit(20).all());
+    }
+
+    @Benchmark
+    public List<Object[]> ticketCountByProject() {
+        return ticketRepository.findTicketCountByProject();
+    }
+
+    @Benchmark
+    public List<ProjectProgressSummary> progressSummaryByProject() {
+        return ticketRepository.findProgressSummaryByProject();
+    }
+
+    @Benchmark
+    public List<TicketProgress> allProgress() {
+        return ticketRepository.findAllProgress();
+    }
+}
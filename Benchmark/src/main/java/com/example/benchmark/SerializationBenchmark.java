@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.example.ticket.dto.TicketDTO;
+import com.example.ticket.mapper.TicketMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code TicketDTO} listing in each format the services negotiate.
+ * Each trial also prints the size of the listing in its format, as the formats are chosen
+ * for payload size as much as for speed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000"})
+    int size;
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<TicketDTO> tickets;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        mapper = switch (format) {
+            case "smile" -> json.copyWith(new SmileFactory());
+            case "cbor" -> json.copyWith(new CBORFactory());
+            default -> json;
+        };
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, TicketDTO.class);
+        TicketMapper ticketMapper = new TicketMapper();
+        tickets = Fixtures.tickets(size).stream().map(ticketMapper::toDTO).toList();
+        body = mapper.writeValueAsBytes(tickets);
+    }
+
+    /**
+     * Reports the payload size once per trial: JMH sums auxiliary counters over the
+     * iterations, which suits counts of events but not a size.
+     */
+    @TearDown
+    public void reportPayloadSize() {
+        System.out.printf("%nPayload: %d tickets in %s = %d bytes%n", size, format, body.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws Exception {
+        return mapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public List<TicketDTO> read() throws Exception {
+        return mapper.readValue(body, listType);
+    }
+}
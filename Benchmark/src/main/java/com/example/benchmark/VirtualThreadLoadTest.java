@@ -0,0 +1,256 @@
+package com.example.benchmark;
+
+import com.example.ticket.TicketApplication;
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.repository.TicketRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Load test of {@code GET /tickets/{id}}, the read path that calls the PROJECT and PEOPLE
+ * services, with the ticket service first on Tomcat's platform thread pool and then on
+ * virtual threads ({@code spring.threads.virtual.enabled}). Both services are stubbed with a
+ * fixed latency and the reference cache is disabled, so every request waits on the network
+ * and the run shows how many requests each threading model keeps in flight. Alongside the
+ * throughput and latency percentiles it reports the peak number of platform threads and,
+ * for the virtual run, the pins caught by the pinning monitor. Each mode runs in its own JVM.
+ * <p>
+ * The RestTemplate pools at most {@code http.maxConnections} connections per downstream
+ * service, so past that many concurrent calls both modes queue on the pool instead of on
+ * threads; pass {@code -Dhttp.maxConnections=<n>} to compare the modes with a larger pool.
+ * <p>
+ * Build as for {@link BenchmarkRunner}, then run
+ * {@code java -cp target/benchmarks.jar com.example.benchmark.VirtualThreadLoadTest [platform|virtual] [clients] [seconds] [latency-ms]};
+ * without a mode both are run and compared.
+ */
+public class VirtualThreadLoadTest {
+
+    /** Connections per route of the downstream HTTP client's pool, read by HttpClient 5; 5 by default. */
+    private static final String MAX_CONNECTIONS = "http.maxConnections";
+    private static final List<String> MODES = List.of("platform", "virtual");
+    private static final String RESULT_PREFIX = "RESULT ";
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    record Result(String mode, long requests, long errors, double throughput, double p50, double p99,
+                  double p999, int peakPlatformThreads, Map<String, Long> pins) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        String mode = options.isEmpty() || !MODES.contains(options.get(0)) ? null : options.remove(0);
+        int clients = options.size() > 0 ? Integer.parseInt(options.get(0)) : 400;
+        int seconds = options.size() > 1 ? Integer.parseInt(options.get(1)) : 20;
+        long latencyMs = options.size() > 2 ? Long.parseLong(options.get(2)) : 100;
+
+        if (mode != null) {
+            HttpServer projects = startDownstream("/projects/", latencyMs,
+                    id -> "{\"id\":" + id + ",\"name\":\"Project " + id + "\",\"startDate\":null,\"endDate\":null}");
+            HttpServer people = startDownstream("/people/", latencyMs,
+                    id -> "{\"id\":" + id + ",\"name\":\"Person " + id + "\",\"email\":\"person" + id + "@example.com\"}");
+            try {
+                Result result = run(mode.equals("virtual"), projects.getAddress().getPort(),
+                        people.getAddress().getPort(), clients, Duration.ofSeconds(seconds));
+                System.out.println(RESULT_PREFIX + format(result));
+            } finally {
+                projects.stop(0);
+                people.stop(0);
+            }
+            return;
+        }
+        List<String> rows = new ArrayList<>();
+        for (String forked : MODES) {
+            rows.add(fork(forked, clients, seconds, latencyMs));
+        }
+        System.out.printf("%n%d clients for %d s, downstream latency %d ms, %s downstream connections per service, %d CPUs%n",
+                clients, seconds, latencyMs, System.getProperty(MAX_CONNECTIONS, "5"),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-9s %10s %8s %10s %9s %9s %9s %9s  %s%n",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "threads", "pins");
+        rows.forEach(System.out::println);
+    }
+
+    /**
+     * Runs one mode in a fresh JVM, so neither run sees the threads, heap or JIT state left
+     * by the other, and returns its result row.
+     */
+    private static String fork(String mode, int clients, int seconds, long latencyMs) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path")));
+        if (System.getProperty(MAX_CONNECTIONS) != null) {
+            command.add("-D" + MAX_CONNECTIONS + "=" + System.getProperty(MAX_CONNECTIONS));
+        }
+        command.addAll(List.of(VirtualThreadLoadTest.class.getName(),
+                mode, String.valueOf(clients), String.valueOf(seconds), String.valueOf(latencyMs)));
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String row = null;
+        try (BufferedReader output = process.inputReader()) {
+            for (String line = output.readLine(); line != null; line = output.readLine()) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    row = line.substring(RESULT_PREFIX.length());
+                } else {
+                    System.out.println(line);
+                }
+            }
+        }
+        if (process.waitFor() != 0 || row == null) {
+            throw new IllegalStateException("The " + mode + " run failed with exit code " + process.exitValue());
+        }
+        return row;
+    }
+
+    private static String format(Result result) {
+        return String.format("%-9s %10d %8d %10.1f %9.1f %9.1f %9.1f %9d  %s",
+                result.mode(), result.requests(), result.errors(), result.throughput(), result.p50(),
+                result.p99(), result.p999(), result.peakPlatformThreads(), result.pins());
+    }
+
+    /**
+     * Starts the ticket service in the given mode, against the stubbed downstream services,
+     * and loads it for the given duration after a warmup.
+     */
+    static Result run(boolean virtualThreads, int projectPort, int peoplePort, int clients, Duration duration)
+            throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        // arguments rather than default properties, so they override the service's application.yml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketApplication.class).run(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.ticket.cache=ERROR",
+                "--logging.level.org.springframework.cloud.loadbalancer=ERROR",
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.PROJECT[0].uri=http://localhost:" + projectPort,
+                "--spring.cloud.discovery.client.simple.instances.PEOPLE[0].uri=http://localhost:" + peoplePort,
+                "--ticket.reference-cache.maximum-size=0",
+                "--ticket.archive.directory=" + Files.createTempDirectory("ticket-archive"))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> uris = context.getBean(TicketRepository.class).findAll().stream()
+                    .map(Ticket::getId)
+                    .map(id -> URI.create("http://localhost:" + port + "/tickets/" + id))
+                    .toList();
+
+            load(uris, clients, WARMUP, new Histogram(3), new LongAdder());
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            Histogram latencies = new Histogram(3);
+            LongAdder errors = new LongAdder();
+            load(uris, clients, duration, latencies, errors);
+
+            Map<String, Long> pins = new TreeMap<>();
+            context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timers()
+                    .forEach(timer -> pins.merge(timer.getId().getTag("source"), timer.count(), Long::sum));
+            return new Result(mode, latencies.getTotalCount(), errors.sum(),
+                    latencies.getTotalCount() / (double) duration.toSeconds(),
+                    millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                    threads.getPeakThreadCount(), pins);
+        }
+    }
+
+    /**
+     * Sends requests from {@code clients} virtual threads in a closed loop, each waiting for
+     * its response before sending the next, and records the latency of every 200 response.
+     */
+    static void load(List<URI> uris, int clients, Duration duration, Histogram latencies, LongAdder errors)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Histogram> perClient = new ArrayList<>(clients);
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                Histogram histogram = new Histogram(3);
+                perClient.add(histogram);
+                int first = c;
+                executor.submit(() -> {
+                    for (int i = first; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                                .timeout(REQUEST_TIMEOUT)
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                histogram.recordValue((System.nanoTime() - start) / 1000);
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        perClient.forEach(latencies::add);
+    }
+
+    /**
+     * Stubs a downstream service on its own port, as each service is its own connection
+     * route in production, answering {@code <path>{id}} after the given latency.
+     */
+    static HttpServer startDownstream(String path, long latencyMs, Function<String, String> body) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(path, exchange -> respond(exchange, latencyMs, body));
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, long latencyMs,
+                                Function<String, String> body) throws IOException {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = exchange.getRequestURI().getPath();
+        byte[] bytes = body.apply(path.substring(path.lastIndexOf('/') + 1)).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.People.config;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Tags outgoing calls with the service they target and collapses numeric path segments
+ * and query strings, so URLs built by concatenation do not create one series per id.
+ */
+public class ServiceClientObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private static final Pattern SCHEME_AND_AUTHORITY = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/?]*");
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        String template = context.getUriTemplate();
+        if (template == null) {
+            return super.uri(context);
+        }
+        String path = SCHEME_AND_AUTHORITY.matcher(template).replaceFirst("");
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        path = ID_SEGMENT.matcher(path).replaceAll("/{id}");
+        return KeyValue.of(LowCardinalityKeyNames.URI, path.isEmpty() ? "/" : path);
+    }
+
+    /**
+     * Discovery URLs already name the service; direct URLs keep their port, which is
+     * what tells the services apart on localhost.
+     */
+    @Override
+    protected KeyValue clientName(ClientRequestObservationContext context) {
+        URI uri = context.getCarrier() != null ? context.getCarrier().getURI() : null;
+        if (uri != null && uri.getHost() != null && uri.getPort() != -1) {
+            return KeyValue.of(LowCardinalityKeyNames.CLIENT_NAME, uri.getHost() + ":" + uri.getPort());
+        }
+        return super.clientName(context);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.People.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports carrier thread pinning while requests run on virtual threads. A virtual thread
+ * that blocks inside a synchronized block or a native frame cannot unmount, so it holds one
+ * of the few carrier threads for the whole wait; the JDBC paths through Hikari and H2 are
+ * the usual suspects. Every JFR {@code jdk.VirtualThreadPinned} event over the threshold is
+ * timed in {@code jvm.threads.virtual.pinned}, tagged with the library that pinned, and the
+ * first pin of each library is logged with its stack.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_METER = "jvm.threads.virtual.pinned";
+    private static final int LOGGED_FRAMES = 15;
+
+    /** Package prefixes of the libraries pins are charged to, checked from the top of the stack. */
+    private static final Map<String, String> SOURCES = new LinkedHashMap<>();
+
+    static {
+        SOURCES.put("com.zaxxer.hikari.", "hikari");
+        SOURCES.put("org.h2.", "h2");
+        SOURCES.put("org.hibernate.", "hibernate");
+        SOURCES.put("com.github.benmanes.caffeine.", "caffeine");
+        SOURCES.put("org.springframework.", "spring");
+        SOURCES.put("com.example.", "app");
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${people.pinning.threshold-ms:20}") long thresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String source = sourceOf(stackTrace);
+        Timer.builder(PINNED_METER)
+                .description("Time virtual threads blocked while pinned to their carrier thread")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (reported.add(source)) {
+            logger.warn("Virtual thread pinned its carrier for {} ms in {} code, further pins are counted in {}:{}",
+                    event.getDuration().toMillis(), source, PINNED_METER, format(stackTrace));
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Virtual thread pinned its carrier for {} ms in {} code:{}",
+                    event.getDuration().toMillis(), source, format(stackTrace));
+        }
+    }
+
+    /**
+     * @param stackTrace The stack of the pinned virtual thread, top frame first.
+     * @return The library of the topmost frame in one of the known libraries, or "other".
+     */
+    static String sourceOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        return sourceOf(stackTrace.getFrames().stream().map(frame -> frame.getMethod().getType().getName()).toList());
+    }
+
+    /**
+     * @param types The class of each frame of the pinned stack, top frame first.
+     * @return The library of the topmost frame in one of the known libraries, or "other".
+     */
+    static String sourceOf(List<String> types) {
+        for (String type : types) {
+            for (Map.Entry<String, String> source : SOURCES.entrySet()) {
+                if (type.startsWith(source.getKey())) {
+                    return source.getValue();
+                }
+            }
+        }
+        return "other";
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " no stack trace";
+        }
+        StringBuilder frames = new StringBuilder();
+        stackTrace.getFrames().stream().limit(LOGGED_FRAMES).forEach(frame -> frames.append("\n\tat ")
+                .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber()));
+        return frames.toString();
+    }
+}
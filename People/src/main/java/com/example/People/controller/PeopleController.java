@@ -1,16 +1,27 @@
 package com.example.People.controller;
 
 
+import com.example.People.dto.CursorPage;
+import com.example.People.dto.IdChangeFeed;
 import com.example.People.dto.PeopleDTO;
 import com.example.People.entity.People;
+import com.example.People.mapper.PeopleMapper;
+import com.example.People.service.ChangeCounter;
 import com.example.People.service.PeopleService;
-import org.modelmapper.ModelMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @CrossOrigin("*")
@@ -21,18 +32,25 @@ public class PeopleController {
     private PeopleService peopleService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private PeopleMapper peopleMapper;
+
+    @Autowired
+    private ChangeCounter changeCounter;
 
     /**
-     * Retrieves all people.
+     * Retrieves all people. Answers 304 when If-None-Match carries the current listing ETag.
+     * @param webRequest The current request.
      * @return A list of all people.
      */
     @GetMapping
-    public ResponseEntity<?> getAllPeople(){
+    public ResponseEntity<?> getAllPeople(WebRequest webRequest){
+        if (notModified(webRequest, changeCounter.collectionETag())){
+            return null;
+        }
         try {
             List<People> people = peopleService.getAllPeople();
             List<PeopleDTO> peopleDTOS = people.stream()
-                    .map(person -> modelMapper.map(person, PeopleDTO.class))
+                    .map(peopleMapper::toDTO)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(peopleDTOS);
         }catch (IllegalArgumentException e){
@@ -42,16 +60,59 @@ public class PeopleController {
         }
     }
 
+    /**
+     * Retrieves a page of people ordered by ID.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of people to return.
+     * @return The page of people and the cursor of the next page.
+     */
+    @GetMapping(params = "size")
+    public CursorPage<PeopleDTO> getPeoplePage(@RequestParam(required = false) String cursor, @RequestParam int size){
+        return peopleService.getPeoplePage(cursor, size)
+                .map(peopleMapper::toDTO);
+    }
+
     /**
      * Retrieves a person by their ID.
+     * Answers 304 when If-None-Match carries the current version.
      * @param id The ID of the person to retrieve.
+     * @param webRequest The current request.
      * @return The person with the specified ID, or null if not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getPeopleById(@PathVariable Long id){
+    public ResponseEntity<?> getPeopleById(@PathVariable Long id, WebRequest webRequest){
+        Optional<Long> version = peopleService.getPeopleVersion(id);
+        if (version.isPresent() && notModified(webRequest, ChangeCounter.entityETag(version.get()))){
+            return null;
+        }
         return peopleService.getPeopleById(id);
     }
 
+    /**
+     * Reads the change feed of person ids, used by other services to replicate them.
+     * @param since The sequence returned by the previous call, 0 for a full snapshot.
+     * @param limit The maximum number of changes to return.
+     * @return The created and deleted ids after {@code since}.
+     */
+    @GetMapping("/changes")
+    public IdChangeFeed getIdChanges(@RequestParam(defaultValue = "0") long since,
+                                     @RequestParam(defaultValue = "1000") int limit){
+        return peopleService.getIdChanges(since, limit);
+    }
+
+    /**
+     * Retrieves several people by their IDs in one call.
+     * @param ids The IDs of the people to retrieve.
+     * @return A list of the people found.
+     */
+    @GetMapping("/batch")
+    public List<PeopleDTO> getPeopleByIds(@RequestParam List<Long> ids){
+        List<People> people = peopleService.getPeopleByIds(ids);
+        return people.stream()
+                .map(peopleMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
     @GetMapping("/byName/{name}")
     public ResponseEntity<List<People>> getPeopleByName(@PathVariable String name){
         List<People> people = peopleService.getPeopleByName(name);
@@ -78,13 +139,26 @@ public class PeopleController {
     }
 
     /**
-     * Updates an existing person.
+     * Updates an existing person, answering 412 if If-Match does not carry their current version.
      * @param people The updated person data.
+     * @param webRequest The current request.
      * @return The updated person.
      */
     @PutMapping("/{id}")
-    public People updatePeople(@RequestBody People people){
-        return peopleService.updatePeople(people);
+    public People updatePeople(@RequestBody People people, WebRequest webRequest){
+        return peopleService.updatePeople(people, ChangeCounter.expectedVersion(webRequest.getHeader(HttpHeaders.IF_MATCH)));
+    }
+
+    /**
+     * Partially updates a person with a JSON merge patch.
+     * @param id The ID of the person to patch.
+     * @param patch The fields to change.
+     * @param webRequest The current request, whose If-Match must carry the current version if present.
+     * @return The patched person.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public People patchPeople(@PathVariable Long id, @RequestBody JsonNode patch, WebRequest webRequest){
+        return peopleService.patchPeople(id, patch, ChangeCounter.expectedVersion(webRequest.getHeader(HttpHeaders.IF_MATCH)));
     }
 
     /**
@@ -100,4 +174,30 @@ public class PeopleController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid person ID");
         }
     }
+
+    /**
+     * Answers a lost optimistic write with 412 if it was conditional on an If-Match
+     * version, and with 409 otherwise.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConflict(ObjectOptimisticLockingFailureException e, WebRequest webRequest){
+        if (webRequest.getHeader(HttpHeaders.IF_MATCH) != null){
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Person does not match If-Match, reload it and retry");
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Person was modified concurrently, reload it and retry");
+    }
+
+    /**
+     * Answers 304 when If-None-Match carries the tag. JSON, CBOR and Smile bodies of the
+     * same data share the tag, so the response varies on Accept for caches to keep them apart.
+     */
+    private static boolean notModified(WebRequest webRequest, String eTag){
+        if (webRequest instanceof NativeWebRequest nativeRequest){
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null){
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return webRequest.checkNotModified(eTag);
+    }
 }
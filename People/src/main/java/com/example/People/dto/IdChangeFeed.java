@@ -0,0 +1,14 @@
+package com.example.People.dto;
+
+import java.util.List;
+
+/**
+ * A batch of the people change feed. When {@code reset} is true, {@code upserted} holds
+ * every existing id and replaces whatever the consumer had. Otherwise it holds the ids
+ * created since the requested sequence. Consumers pass {@code next} as {@code since}
+ * on the following call.
+ */
+public record IdChangeFeed(List<Long> upserted, List<Long> deleted, long next, boolean reset, boolean hasMore) {
+
+    public static final int MAX_LIMIT = 10000;
+}
@@ -0,0 +1,23 @@
+package com.example.People.entity;
+
+import com.example.People.service.ChangeCounter;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Bumps the {@link ChangeCounter} on every insert, update and delete done through JPA.
+ */
+public class ChangeCounterListener {
+
+    @Autowired
+    private ChangeCounter changeCounter;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        changeCounter.markChanged();
+    }
+}
@@ -3,17 +3,18 @@ package com.example.People.entity;
 
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@EntityListeners(ChangeCounterListener.class)
+@DynamicUpdate
 @Table(name = "people")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class People {
 
     @Id
@@ -34,4 +35,17 @@ public class People {
     private String password;
 
     private Integer areaId;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public People(long id, String name, String email, String username, String password, Integer areaId) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.username = username;
+        this.password = password;
+        this.areaId = areaId;
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.People.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Append-only log of person creations and deletions, read by the change feed.
+ */
+@Entity
+@Table(name = "people_change")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PeopleChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(updatable = false)
+    private long seq;
+
+    @Column(nullable = false, updatable = false)
+    private long peopleId;
+
+    @Column(nullable = false, updatable = false)
+    private boolean deleted;
+
+    public PeopleChange(long peopleId, boolean deleted) {
+        this.peopleId = peopleId;
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.People.fanout;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Opens a fan-out ledger for every inbound request. The totals are added as response
+ * headers when the response starts to be written, and logged once the request completes.
+ */
+@Component
+public class FanOutFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(FanOutFilter.class);
+
+    public static final String CALLS_HEADER = "X-Fan-Out-Calls";
+    public static final String BYTES_HEADER = "X-Fan-Out-Bytes";
+    public static final String WAIT_HEADER = "X-Fan-Out-Wait-Ms";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        FanOutLedger ledger = new FanOutLedger(request.getMethod() + " " + request.getRequestURI());
+        LedgerHeaderResponse wrapped = new LedgerHeaderResponse(response, ledger);
+        FanOutLedger previous = FanOutLedger.bind(ledger);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            // responses without a body, or failed ones, never asked for a stream
+            wrapped.writeHeaders();
+            FanOutLedger.bind(previous);
+            if (ledger.calls() > 0) {
+                logger.debug("{}: {} remote calls, {} bytes, {} ms waiting",
+                        ledger.request(), ledger.calls(), ledger.bytes(), ledger.waitMillis());
+            }
+        }
+    }
+
+    /**
+     * Writes the ledger headers just before the response commits, while headers can still be set.
+     */
+    private static final class LedgerHeaderResponse extends HttpServletResponseWrapper {
+        private final FanOutLedger ledger;
+        private boolean written;
+
+        private LedgerHeaderResponse(HttpServletResponse response, FanOutLedger ledger) {
+            super(response);
+            this.ledger = ledger;
+        }
+
+        private void writeHeaders() {
+            if (!written && !isCommitted()) {
+                written = true;
+                setHeader(CALLS_HEADER, Integer.toString(ledger.calls()));
+                setHeader(BYTES_HEADER, Long.toString(ledger.bytes()));
+                setHeader(WAIT_HEADER, Long.toString(ledger.waitMillis()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.People.mapper;
+
+import com.example.People.dto.Area;
+import com.example.People.dto.PeopleDTO;
+import com.example.People.entity.People;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps people to the DTOs returned by the API, without reflection.
+ */
+@Component
+public class PeopleMapper {
+
+    /**
+     * Maps a person to their DTO. The area only carries its ID, and is left null when the
+     * person has none.
+     * @param people The person to map.
+     * @return The DTO of the person.
+     */
+    public PeopleDTO toDTO(People people){
+        Area area = null;
+        if (people.getAreaId() != null){
+            area = new Area();
+            area.setId(people.getAreaId());
+        }
+        return new PeopleDTO(people.getId(), people.getName(), people.getEmail(), area);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.People.reporitory;
+
+import com.example.People.entity.PeopleChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+
+public interface PeopleChangeRepository extends JpaRepository<PeopleChange, Long> {
+
+    List<PeopleChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM PeopleChange c")
+    long findLastSeq();
+}
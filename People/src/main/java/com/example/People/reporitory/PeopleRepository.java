@@ -2,12 +2,24 @@ package com.example.People.reporitory;
 
 
 import com.example.People.entity.People;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PeopleRepository extends JpaRepository<People, Long> {
     List<People> findByName(String name);
+
+    List<People> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT p.id FROM People p")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.version FROM People p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
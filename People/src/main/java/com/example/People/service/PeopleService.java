@@ -2,21 +2,30 @@ package com.example.People.service;
 
 
 import com.example.People.dto.Area;
+import com.example.People.dto.CursorPage;
+import com.example.People.dto.IdChangeFeed;
 import com.example.People.dto.PeopleDTO;
 import com.example.People.entity.People;
+import com.example.People.entity.PeopleChange;
+import com.example.People.reporitory.PeopleChangeRepository;
 import com.example.People.reporitory.PeopleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import org.thymeleaf.util.StringUtils;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.io.IOException;
+import java.util.*;
 
 
 /**
@@ -30,6 +39,12 @@ public class PeopleService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PeopleChangeRepository peopleChangeRepository;
+
     /**
      * Retrieves all people.
      * @return List of all people.
@@ -50,6 +65,19 @@ public class PeopleService {
         return people;
     }
 
+    /**
+     * Retrieves a page of people ordered by ID, starting after the given cursor.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of people to return.
+     * @return The page of people.
+     */
+    public CursorPage<People> getPeoplePage(String cursor, int size){
+        CursorPage.validateSize(size);
+        List<People> people = peopleRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        return CursorPage.of(people, size, People::getId);
+    }
+
     /**
      * Retrieves a person by ID.
      * @param id The ID of the person to retrieve.
@@ -72,6 +100,17 @@ public class PeopleService {
         }
     }
 
+    /**
+     * Retrieves the people matching the given IDs in a single query.
+     * @param ids The IDs of the people to retrieve.
+     * @return List of the people found.
+     */
+    public List<People> getPeopleByIds(List<Long> ids){
+        if (ids == null || ids.isEmpty()){
+            throw new IllegalArgumentException("People ids cannot be null or empty");
+        }
+        return peopleRepository.findAllById(ids);
+    }
 
     public List<People> getPeopleByName(String name){
         if (StringUtils.isEmpty(name)){
@@ -80,11 +119,21 @@ public class PeopleService {
         return peopleRepository.findByName(name);
     }
 
+    /**
+     * Retrieves the current version of a person without loading it.
+     * @param id The ID of the person.
+     * @return The version, or empty if the person does not exist.
+     */
+    public Optional<Long> getPeopleVersion(Long id){
+        return peopleRepository.findVersionById(id);
+    }
+
     /**
      * Creates a new person.
      * @param people The person to be created.
      * @return The newly created person.
      */
+    @Transactional
     public People createPeople(People people){
         if (people == null){
             throw new IllegalArgumentException("People cannot be null");
@@ -92,16 +141,21 @@ public class PeopleService {
         if (people.getName() == null || people.getName().isEmpty()){
             throw new IllegalArgumentException("People name is required");
         }
-        return peopleRepository.save(people);
+        People savedPeople = peopleRepository.save(people);
+        peopleChangeRepository.save(new PeopleChange(savedPeople.getId(), false));
+        return savedPeople;
     }
 
     /**
      * Updates an existing person.
      * @param updatePeople The person with updated data.
+     * @param expectedVersion The version the update is conditional on, or null.
      * @return The updated person.
      * @throws EntityNotFoundException If the person is not found.
+     * @throws ObjectOptimisticLockingFailureException If the person is not at the expected version.
      */
-    public People updatePeople(People updatePeople){
+    @Transactional
+    public People updatePeople(People updatePeople, Long expectedVersion){
         if (updatePeople == null){
             throw new IllegalArgumentException("Update cannot be null");
         }
@@ -111,16 +165,62 @@ public class PeopleService {
             throw new EntityNotFoundException("People with id " + updatePeople.getId() + " not found!");
         }
             People peopleToUpdate = existingPeople.get();
+            checkVersion(peopleToUpdate, expectedVersion);
             peopleToUpdate.setName(updatePeople.getName());
             peopleToUpdate.setEmail(updatePeople.getEmail());
 
             return peopleRepository.save(peopleToUpdate);
     }
 
+    /**
+     * Applies a JSON merge patch to a person, writing only the supplied fields.
+     * If the patch carries a version, it must match the stored one.
+     * @param id The ID of the person to patch.
+     * @param patch The JSON merge patch document.
+     * @param expectedVersion The version the patch is conditional on, or null.
+     * @return The patched person.
+     * @throws EntityNotFoundException If the person is not found.
+     * @throws ObjectOptimisticLockingFailureException If the person is not at the expected version.
+     */
+    @Transactional
+    public People patchPeople(Long id, JsonNode patch, Long expectedVersion){
+        if (patch == null || !patch.isObject()){
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        People people = peopleRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("People with id " + id + " not found!"));
+
+        JsonNode patchedVersion = patch.get("version");
+        if (patchedVersion != null && !patchedVersion.isNull() && patchedVersion.asLong() != people.getVersion()){
+            throw new ObjectOptimisticLockingFailureException(People.class, id);
+        }
+        checkVersion(people, expectedVersion);
+
+        ObjectNode changes = ((ObjectNode) patch).deepCopy();
+        changes.remove(List.of("id", "version"));
+        try {
+            objectMapper.readerForUpdating(people).readValue(changes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage());
+        }
+        return peopleRepository.saveAndFlush(people);
+    }
+
+    /**
+     * Fails a conditional write if the person, as loaded by its transaction, has moved on;
+     * the versioned UPDATE then catches any write committed after the load.
+     */
+    private static void checkVersion(People people, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != people.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(People.class, people.getId());
+        }
+    }
+
     /**
      * Deletes a person by ID.
      * @param id The ID of the person to be deleted.
      */
+    @Transactional
     public void deletePeople(Long id){
         if (id == null || id <= 0){
             throw new IllegalArgumentException("Invalid people id");
@@ -128,8 +228,43 @@ public class PeopleService {
         Optional<People> peopleOptional = peopleRepository.findById(id);
         if (peopleOptional.isPresent()){
             peopleRepository.deleteById(id);
+            peopleChangeRepository.save(new PeopleChange(id, true));
         }else {
             throw new IllegalArgumentException("Person not found with the provided ID");
         }
     }
+
+    /**
+     * Reads the change feed of person ids. A {@code since} of 0 returns a full snapshot.
+     * @param since The sequence returned by the previous call.
+     * @param limit The maximum number of changes to return.
+     * @return The created and deleted ids after {@code since}.
+     */
+    @Transactional(readOnly = true)
+    public IdChangeFeed getIdChanges(long since, int limit){
+        if (since < 0){
+            throw new IllegalArgumentException("Since cannot be negative");
+        }
+        if (limit <= 0 || limit > IdChangeFeed.MAX_LIMIT){
+            throw new IllegalArgumentException("Limit must be between 1 and " + IdChangeFeed.MAX_LIMIT);
+        }
+        if (since == 0){
+            long last = peopleChangeRepository.findLastSeq();
+            return new IdChangeFeed(peopleRepository.findAllIds(), List.of(), last, true, false);
+        }
+        List<PeopleChange> changes = peopleChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore){
+            changes = changes.subList(0, limit);
+        }
+        Map<Long, Boolean> deletedById = new LinkedHashMap<>();
+        for (PeopleChange change : changes){
+            deletedById.put(change.getPeopleId(), change.isDeleted());
+        }
+        List<Long> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        deletedById.forEach((id, isDeleted) -> (isDeleted ? deleted : upserted).add(id));
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new IdChangeFeed(upserted, deleted, next, false, hasMore);
+    }
 }
@@ -1,4 +1,4 @@
 --insert into people(name, email, username, password, ticket_id) values ('Ricardo', 'aa@gmail.com', 'ric', '{noop}123', 1);
 
-insert into people(name, email, username, password, area_id) values ('Ricardo', 'aa@gmail.com', 'ric', '{noop}123', 1);
-insert into people(name, email, username, password, area_id) values ('Vasco', 'vv@gmail.com', 'vac', '{noop}345', 2);
\ No newline at end of file
+insert into people(name, email, username, password, area_id, version) values ('Ricardo', 'aa@gmail.com', 'ric', '{noop}123', 1, 0);
+insert into people(name, email, username, password, area_id, version) values ('Vasco', 'vv@gmail.com', 'vac', '{noop}345', 2, 0);
\ No newline at end of file
@@ -1,24 +1,31 @@
 package com.example.People.controller;
 
-import com.example.People.dto.Area;
+import com.example.People.dto.CursorPage;
 import com.example.People.dto.PeopleDTO;
 import com.example.People.entity.People;
+import com.example.People.mapper.PeopleMapper;
+import com.example.People.service.ChangeCounter;
 import com.example.People.service.PeopleService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,8 +34,11 @@ class PeopleControllerTest {
     @Mock
     private PeopleService peopleService;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private PeopleMapper peopleMapper = new PeopleMapper();
+
+    @Spy
+    private ChangeCounter changeCounter = new ChangeCounter();
 
     @InjectMocks
     private PeopleController peopleController;
@@ -36,18 +46,13 @@ class PeopleControllerTest {
 
     @Test
     void getAllPeople() {
-        when(modelMapper.map(any(), eq(PeopleDTO.class))).thenAnswer(invocationOnMock -> {
-            People source = invocationOnMock.getArgument(0);
-            return new PeopleDTO(source.getId(), source.getName(), source.getEmail(),  new Area());
-        });
-
         People people1 = new People(1L, "Ricardo", "aa@gmail.com", "ric", "123", 1);
         People people2 = new People(2L, "Vasco", "vv@gmail.com", "vac", "345", 2);
 
         List<People> peopleList = Arrays.asList(people1, people2);
         when(peopleService.getAllPeople()).thenReturn(peopleList);
 
-        ResponseEntity<?> responseEntity = peopleController.getAllPeople();
+        ResponseEntity<?> responseEntity = peopleController.getAllPeople(new ServletWebRequest(new MockHttpServletRequest()));
         verify(peopleService).getAllPeople();
 
         List<PeopleDTO> allPeople = (List<PeopleDTO>) responseEntity.getBody();
@@ -57,8 +62,40 @@ class PeopleControllerTest {
     }
 
     @Test
-    void getPeopleById() {
+    void getAllPeopleNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/people");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, changeCounter.collectionETag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(peopleController.getAllPeople(new ServletWebRequest(request, response)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+        verify(peopleService, never()).getAllPeople();
+    }
 
+    @Test
+    void getPeoplePage() {
+        People people1 = new People(1L, "Ricardo", "aa@gmail.com", "ric", "123", 1);
+        when(peopleService.getPeoplePage(null, 1))
+                .thenReturn(new CursorPage<>(List.of(people1), CursorPage.encodeCursor(1L)));
+
+        CursorPage<PeopleDTO> page = peopleController.getPeoplePage(null, 1);
+
+        assertEquals(List.of("Ricardo"), page.items().stream().map(PeopleDTO::getName).toList());
+        assertEquals(1L, CursorPage.decodeCursor(page.nextCursor()));
+    }
+
+    @Test
+    void getPeopleByIdNotModified() {
+        when(peopleService.getPeopleVersion(1L)).thenReturn(Optional.of(4L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/people/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ChangeCounter.entityETag(4L));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(peopleController.getPeopleById(1L, new ServletWebRequest(request, response)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+        verify(peopleService, never()).getPeopleById(any());
     }
 
     @Test
@@ -96,13 +133,13 @@ class PeopleControllerTest {
     void updatePeople() {
         People person = new People(1L, "Vasco", "vasco@example.com", "jd", "123", 1);
 
-        when(peopleService.updatePeople(any())).thenReturn(person);
+        when(peopleService.updatePeople(person, null)).thenReturn(person);
 
-        People updatedPerson = peopleController.updatePeople(person);
+        People updatedPerson = peopleController.updatePeople(person, new ServletWebRequest(new MockHttpServletRequest()));
 
         assertEquals(person, updatedPerson);
 
-        verify(peopleService).updatePeople(person);
+        verify(peopleService).updatePeople(person, null);
     }
 
     @Test
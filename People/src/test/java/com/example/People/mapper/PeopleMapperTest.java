@@ -0,0 +1,31 @@
+package com.example.People.mapper;
+
+import com.example.People.dto.PeopleDTO;
+import com.example.People.entity.People;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PeopleMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final PeopleMapper peopleMapper = new PeopleMapper();
+
+    @Test
+    void matchesModelMapper() throws Exception {
+        List<People> people = List.of(
+                new People(1L, "Vasco", "vasco@example.com", "vasco", "123", 2),
+                new People(2L, "Ricardo", "ricardo@example.com", "ricardo", "456", null),
+                new People());
+
+        for (People person : people) {
+            assertEquals(objectMapper.writeValueAsString(modelMapper.map(person, PeopleDTO.class)),
+                    objectMapper.writeValueAsString(peopleMapper.toDTO(person)));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.People.reporitory;
+
+import com.example.People.entity.People;
+import com.example.People.service.ChangeCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+class PeopleRepositoryTest {
+
+    @Autowired
+    private PeopleRepository peopleRepository;
+
+    @Autowired
+    private ChangeCounter changeCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void committedWritesChangeTheETags() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String listingTag = changeCounter.collectionETag();
+
+        People saved = transactionTemplate.execute(status -> {
+            People person = peopleRepository.saveAndFlush(new People(0L, "ETag", "etag@gmail.com", "etag", "123", 1));
+            assertEquals(listingTag, changeCounter.collectionETag());
+            return person;
+        });
+        String insertedTag = changeCounter.collectionETag();
+        assertNotEquals(listingTag, insertedTag);
+        String entityTag = ChangeCounter.entityETag(peopleRepository.findVersionById(saved.getId()).orElseThrow());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            People person = peopleRepository.findById(saved.getId()).orElseThrow();
+            person.setName("Rolled back");
+            peopleRepository.saveAndFlush(person);
+            status.setRollbackOnly();
+        });
+        assertEquals(insertedTag, changeCounter.collectionETag());
+        assertEquals(entityTag, ChangeCounter.entityETag(peopleRepository.findVersionById(saved.getId()).orElseThrow()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            People person = peopleRepository.findById(saved.getId()).orElseThrow();
+            person.setName("Renamed");
+            peopleRepository.saveAndFlush(person);
+        });
+        assertNotEquals(insertedTag, changeCounter.collectionETag());
+        assertNotEquals(entityTag, ChangeCounter.entityETag(peopleRepository.findVersionById(saved.getId()).orElseThrow()));
+
+        peopleRepository.deleteById(saved.getId());
+    }
+}
@@ -1,17 +1,26 @@
 package com.example.People.service;
 
 import com.example.People.dto.Area;
+import com.example.People.dto.CursorPage;
+import com.example.People.dto.IdChangeFeed;
 import com.example.People.dto.PeopleDTO;
 import com.example.People.entity.People;
+import com.example.People.entity.PeopleChange;
+import com.example.People.reporitory.PeopleChangeRepository;
 import com.example.People.reporitory.PeopleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
@@ -27,6 +36,12 @@ class PeopleServiceTest {
     @Mock
     private PeopleRepository peopleRepository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private PeopleChangeRepository peopleChangeRepository;
+
     @InjectMocks
     private PeopleService peopleService;
 
@@ -83,6 +98,31 @@ class PeopleServiceTest {
         assertEquals(expectedPeople, result);
     }
 
+    @Test
+    void getPeoplePage() {
+        List<People> peopleList = Arrays.asList(new People(3L, "Ricardo", "aa@gmail.com", "ric", "123", 1),
+                new People(4L, "Vasco", "vv@gmail.com", "vac", "345", 2));
+        when(peopleRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2))).thenReturn(peopleList);
+
+        CursorPage<People> page = peopleService.getPeoplePage(CursorPage.encodeCursor(2L), 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(3L, CursorPage.decodeCursor(page.nextCursor()));
+    }
+
+    @Test
+    void getPeopleByIds() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        List<People> expectedPeople = Arrays.asList(new People(1L, "Ricardo", "aa@gmail.com", "ric", "123", 1),
+                new People(2L, "Vasco", "vv@gmail.com", "vac", "345", 2));
+        when(peopleRepository.findAllById(ids)).thenReturn(expectedPeople);
+
+        List<People> result = peopleService.getPeopleByIds(ids);
+
+        assertEquals(expectedPeople, result);
+        assertThrows(IllegalArgumentException.class, () -> peopleService.getPeopleByIds(new ArrayList<>()));
+    }
+
     @Test
     void createPeople() {
         People personToCreate = new People();
@@ -104,7 +144,19 @@ class PeopleServiceTest {
 
         when(peopleRepository.findById(id)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> peopleService.updatePeople(updatedPersonData));
+        assertThrows(EntityNotFoundException.class, () -> peopleService.updatePeople(updatedPersonData, null));
+    }
+
+    @Test
+    void updatePeopleAtAnotherVersionThanIfMatch() {
+        People people = new People(1L, "Alice", "alice@example.com", "alice", "secret", 1);
+        people.setVersion(3);
+        when(peopleRepository.findById(1L)).thenReturn(Optional.of(people));
+
+        People update = new People(1L, "Alice B", "alice@example.com", "alice", "secret", 1);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> peopleService.updatePeople(update, 2L));
+        assertEquals("Alice", people.getName());
+        verify(peopleRepository, never()).save(any());
     }
 
     @Test
@@ -116,4 +168,63 @@ class PeopleServiceTest {
 
         verify(peopleRepository, times(1)).deleteById(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    void patchPeople() throws Exception {
+        People people = new People(1L, "Alice", "alice@example.com", "alice", "secret", 1);
+        when(peopleRepository.findById(1L)).thenReturn(Optional.of(people));
+        when(peopleRepository.saveAndFlush(people)).thenReturn(people);
+
+        JsonNode patch = new ObjectMapper().readTree("{\"email\": \"alice@example.org\", \"id\": 99, \"version\": 0}");
+        People result = peopleService.patchPeople(1L, patch, null);
+
+        assertEquals("alice@example.org", result.getEmail());
+        assertEquals(1L, result.getId());
+        verify(peopleRepository).saveAndFlush(people);
+    }
+
+    @Test
+    void patchPeopleWithStaleVersion() throws Exception {
+        People people = new People(1L, "Alice", "alice@example.com", "alice", "secret", 1);
+        people.setVersion(3);
+        when(peopleRepository.findById(1L)).thenReturn(Optional.of(people));
+
+        JsonNode patch = new ObjectMapper().readTree("{\"email\": \"alice@example.org\", \"version\": 2}");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> peopleService.patchPeople(1L, patch, null));
+        assertEquals("alice@example.com", people.getEmail());
+        verify(peopleRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void getIdChangesSnapshot() {
+        when(peopleChangeRepository.findLastSeq()).thenReturn(7L);
+        when(peopleRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        IdChangeFeed feed = peopleService.getIdChanges(0, 100);
+
+        assertTrue(feed.reset());
+        assertEquals(List.of(1L, 2L), feed.upserted());
+        assertEquals(7L, feed.next());
+    }
+
+    @Test
+    void getIdChangesDelta() {
+        List<PeopleChange> changes = List.of(change(8L, 3L, false), change(9L, 4L, false), change(10L, 3L, true), change(11L, 5L, false));
+        when(peopleChangeRepository.findBySeqGreaterThanOrderBySeqAsc(7L, Limit.of(4))).thenReturn(changes);
+
+        IdChangeFeed feed = peopleService.getIdChanges(7L, 3);
+
+        assertFalse(feed.reset());
+        assertTrue(feed.hasMore());
+        assertEquals(List.of(4L), feed.upserted());
+        assertEquals(List.of(3L), feed.deleted());
+        assertEquals(10L, feed.next());
+    }
+
+    private static PeopleChange change(long seq, long id, boolean deleted) {
+        PeopleChange change = new PeopleChange(id, deleted);
+        change.setSeq(seq);
+        return change;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.Project;
 
+import com.example.Project.config.AppConfig;
+import com.example.Project.fanout.FanOutInterceptor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
@@ -15,8 +20,11 @@ public class ProjectApplication {
 
 	@Bean
 	@LoadBalanced
-	public RestTemplate restTemplate(){
-		return new RestTemplate();
+	public RestTemplate restTemplate(RestTemplateBuilder builder,
+									 MappingJackson2CborHttpMessageConverter cbor,
+									 MappingJackson2SmileHttpMessageConverter smile,
+									 FanOutInterceptor fanOutInterceptor){
+		return AppConfig.preferBinaryFormats(builder.additionalInterceptors(fanOutInterceptor).build(), cbor, smile);
 	}
 
 }
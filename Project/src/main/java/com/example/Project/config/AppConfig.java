@@ -1,13 +1,82 @@
 package com.example.Project.config;
 
-import org.modelmapper.ModelMapper;
+import com.example.Project.repository.ProjectChangeRepository;
+import com.example.Project.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
 
 @Configuration
 public class AppConfig {
+    /**
+     * CBOR converter sharing the configuration of the JSON object mapper. It replaces
+     * Spring's default one in place, after JSON, so JSON stays the default response type.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper){
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    /**
+     * Smile converter sharing the configuration of the JSON object mapper.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper){
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    /**
+     * Tags the RestTemplate timers with the target service and a bounded URI.
+     */
+    @Bean
+    public ClientRequestObservationConvention clientRequestObservationConvention(){
+        return new ServiceClientObservationConvention();
+    }
+
+    /**
+     * Row counts of the service's tables, read on each scrape.
+     */
     @Bean
-    public ModelMapper modelMapper(){
-        return new ModelMapper();
+    public MeterBinder tableSizeMetrics(ProjectRepository projectRepository, ProjectChangeRepository projectChangeRepository){
+        return registry -> {
+            Gauge.builder("db.table.rows", projectRepository, ProjectRepository::count)
+                    .description("Rows in the table")
+                    .tag("table", "project")
+                    .register(registry);
+            Gauge.builder("db.table.rows", projectChangeRepository, ProjectChangeRepository::count)
+                    .description("Rows in the table")
+                    .tag("table", "project_change")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Moves the Smile and CBOR converters in front of JSON, so internal calls list them
+     * first in their Accept header and get a binary body back. Smile goes first, as it
+     * gives the smallest listings and the fastest reads.
+     * @param restTemplate The template used for calls to the other services.
+     * @param cbor The CBOR converter.
+     * @param smile The Smile converter.
+     * @return The same template.
+     */
+    public static RestTemplate preferBinaryFormats(RestTemplate restTemplate,
+                                                   MappingJackson2CborHttpMessageConverter cbor,
+                                                   MappingJackson2SmileHttpMessageConverter smile){
+        List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.addAll(0, List.of(smile, cbor));
+        return restTemplate;
     }
 }
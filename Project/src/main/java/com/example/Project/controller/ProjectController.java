@@ -1,17 +1,28 @@
 package com.example.Project.controller;
 
 
+import com.example.Project.dto.CursorPage;
+import com.example.Project.dto.IdChangeFeed;
 import com.example.Project.dto.ProjectDTO;
 import com.example.Project.entity.Project;
 import com.example.Project.rec.ProjectDetails;
+import com.example.Project.mapper.ProjectMapper;
+import com.example.Project.service.ChangeCounter;
 import com.example.Project.service.ProjectService;
-import org.modelmapper.ModelMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -23,27 +34,77 @@ public class ProjectController {
     private ProjectService projectService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProjectMapper projectMapper;
+
+    @Autowired
+    private ChangeCounter changeCounter;
 
     /**
-     * Retrieves all projects.
+     * Retrieves all projects. Answers 304 when If-None-Match carries the current listing ETag.
+     * @param webRequest The current request.
      * @return A list of all projects.
      */
     @GetMapping
-    public List<ProjectDTO> getAllProjects(){
+    public List<ProjectDTO> getAllProjects(WebRequest webRequest){
+        if (notModified(webRequest, changeCounter.collectionETag())){
+            return null;
+        }
         List<Project> projects = projectService.getAllProjects();
         return projects.stream()
-                .map(project -> modelMapper.map(project, ProjectDTO.class))
+                .map(projectMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves a page of projects ordered by ID.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of projects to return.
+     * @return The page of projects and the cursor of the next page.
+     */
+    @GetMapping(params = "size")
+    public CursorPage<ProjectDTO> getProjectsPage(@RequestParam(required = false) String cursor, @RequestParam int size){
+        return projectService.getProjectsPage(cursor, size)
+                .map(projectMapper::toDTO);
+    }
+
+    /**
+     * Reads the change feed of project ids, used by other services to replicate them.
+     * @param since The sequence returned by the previous call, 0 for a full snapshot.
+     * @param limit The maximum number of changes to return.
+     * @return The created and deleted ids after {@code since}.
+     */
+    @GetMapping("/changes")
+    public IdChangeFeed getIdChanges(@RequestParam(defaultValue = "0") long since,
+                                     @RequestParam(defaultValue = "1000") int limit){
+        return projectService.getIdChanges(since, limit);
+    }
+
+    /**
+     * Retrieves several projects by their IDs in one call.
+     * @param ids The IDs of the projects to retrieve.
+     * @return A list of the projects found.
+     */
+    @GetMapping("/batch")
+    public List<ProjectDTO> getProjectsByIds(@RequestParam List<Long> ids){
+        List<Project> projects = projectService.getProjectsByIds(ids);
+        return projects.stream()
+                .map(projectMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
     /**
      * Retrieves a project by its ID.
+     * Answers 304 when If-None-Match carries the current version.
      * @param id The ID of the project to retrieve.
+     * @param webRequest The current request.
      * @return The project with the specified ID, or null if not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getProjectById(@PathVariable Long id){
+    public ResponseEntity<?> getProjectById(@PathVariable Long id, WebRequest webRequest){
+        Optional<Long> version = projectService.getProjectVersion(id);
+        if (version.isPresent() && notModified(webRequest, ChangeCounter.entityETag(version.get()))){
+            return null;
+        }
         return projectService.getProjectById(id);
     }
 
@@ -75,13 +136,26 @@ public class ProjectController {
     }
 
     /**
-     * Updates an existing project.
+     * Updates an existing project, answering 412 if If-Match does not carry its current version.
      * @param project The updated project data.
+     * @param webRequest The current request.
      * @return The updated project.
      */
     @PutMapping("/{id}")
-    public Project updateProject(@RequestBody Project project){
-        return projectService.updateProject(project);
+    public Project updateProject(@RequestBody Project project, WebRequest webRequest){
+        return projectService.updateProject(project, ChangeCounter.expectedVersion(webRequest.getHeader(HttpHeaders.IF_MATCH)));
+    }
+
+    /**
+     * Partially updates a project with a JSON merge patch.
+     * @param id The ID of the project to patch.
+     * @param patch The fields to change.
+     * @param webRequest The current request, whose If-Match must carry the current version if present.
+     * @return The patched project.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public Project patchProject(@PathVariable Long id, @RequestBody JsonNode patch, WebRequest webRequest){
+        return projectService.patchProject(id, patch, ChangeCounter.expectedVersion(webRequest.getHeader(HttpHeaders.IF_MATCH)));
     }
 
     /**
@@ -104,4 +178,30 @@ public class ProjectController {
         Map<Long, Integer> projectCountByArea = projectService.getProjectCountByArea();
         return ResponseEntity.ok(projectCountByArea);
     }
+
+    /**
+     * Answers a lost optimistic write with 412 if it was conditional on an If-Match
+     * version, and with 409 otherwise.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConflict(ObjectOptimisticLockingFailureException e, WebRequest webRequest){
+        if (webRequest.getHeader(HttpHeaders.IF_MATCH) != null){
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Project does not match If-Match, reload it and retry");
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Project was modified concurrently, reload it and retry");
+    }
+
+    /**
+     * Answers 304 when If-None-Match carries the tag. JSON, CBOR and Smile bodies of the
+     * same data share the tag, so the response varies on Accept for caches to keep them apart.
+     */
+    private static boolean notModified(WebRequest webRequest, String eTag){
+        if (webRequest instanceof NativeWebRequest nativeRequest){
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null){
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return webRequest.checkNotModified(eTag);
+    }
 }
@@ -3,17 +3,18 @@ package com.example.Project.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@EntityListeners(ChangeCounterListener.class)
+@DynamicUpdate
 @Table(name = "project")
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,4 +33,16 @@ public class Project {
     private String endDate;
 
     private Long areaId;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Project(long id, String name, String startDate, String endDate, Long areaId) {
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.areaId = areaId;
+    }
 }
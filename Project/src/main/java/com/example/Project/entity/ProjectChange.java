@@ -0,0 +1,32 @@
+package com.example.Project.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Append-only log of project creations and deletions, read by the change feed.
+ */
+@Entity
+@Table(name = "project_change")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(updatable = false)
+    private long seq;
+
+    @Column(nullable = false, updatable = false)
+    private long projectId;
+
+    @Column(nullable = false, updatable = false)
+    private boolean deleted;
+
+    public ProjectChange(long projectId, boolean deleted) {
+        this.projectId = projectId;
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.Project.fanout;
+
+/**
+ * Thrown when a request makes more remote calls than its fan-out budget allows.
+ */
+public class FanOutBudgetExceededException extends RuntimeException {
+
+    public FanOutBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.Project.fanout;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Charges every RestTemplate call to the ledger of the inbound request it serves, and
+ * enforces the fan-out budget: past the configured number of calls a request is either
+ * logged once as a warning or, in FAIL mode, refused further calls.
+ */
+@Component
+public class FanOutInterceptor implements ClientHttpRequestInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(FanOutInterceptor.class);
+
+    public enum Mode {
+        LOG,
+        FAIL
+    }
+
+    private final int maxCalls;
+    private final Mode mode;
+
+    public FanOutInterceptor(@Value("${project.fan-out.max-calls:20}") int maxCalls,
+                             @Value("${project.fan-out.mode:LOG}") Mode mode) {
+        if (maxCalls <= 0) {
+            throw new IllegalArgumentException("The fan-out budget must be a positive number");
+        }
+        this.maxCalls = maxCalls;
+        this.mode = mode;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        FanOutLedger ledger = FanOutLedger.current();
+        if (ledger == null) {
+            return execution.execute(request, body);
+        }
+        int calls = ledger.recordCall();
+        if (calls > maxCalls) {
+            String message = ledger.request() + " exceeded its fan-out budget of " + maxCalls + " remote calls";
+            if (mode == Mode.FAIL) {
+                throw new FanOutBudgetExceededException(message + " calling " + request.getMethod() + " " + request.getURI());
+            }
+            if (ledger.markOverBudget()) {
+                logger.warn("{}, next call: {} {}", message, request.getMethod(), request.getURI());
+            }
+        }
+        ledger.recordBytes(body.length);
+        long start = System.nanoTime();
+        try {
+            return new CountingResponse(execution.execute(request, body), ledger);
+        } finally {
+            ledger.recordWait(System.nanoTime() - start);
+        }
+    }
+
+    private static final class CountingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final FanOutLedger ledger;
+        private InputStream body;
+
+        private CountingResponse(ClientHttpResponse response, FanOutLedger ledger) {
+            this.response = response;
+            this.ledger = ledger;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(response.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int read = super.read();
+                        if (read >= 0) {
+                            ledger.recordBytes(1);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = super.read(buffer, offset, length);
+                        if (read > 0) {
+                            ledger.recordBytes(read);
+                        }
+                        return read;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
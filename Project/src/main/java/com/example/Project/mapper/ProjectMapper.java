@@ -0,0 +1,28 @@
+package com.example.Project.mapper;
+
+import com.example.Project.dto.Area;
+import com.example.Project.dto.ProjectDTO;
+import com.example.Project.entity.Project;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps projects to the DTOs returned by the API, without reflection.
+ */
+@Component
+public class ProjectMapper {
+
+    /**
+     * Maps a project to its DTO. The area only carries its ID, and is left null when the
+     * project has none.
+     * @param project The project to map.
+     * @return The DTO of the project.
+     */
+    public ProjectDTO toDTO(Project project){
+        Area area = null;
+        if (project.getAreaId() != null){
+            area = new Area();
+            area.setId(project.getAreaId().intValue());
+        }
+        return new ProjectDTO(project.getId(), project.getName(), project.getStartDate(), project.getEndDate(), area);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.Project.repository;
+
+import com.example.Project.entity.ProjectChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+
+public interface ProjectChangeRepository extends JpaRepository<ProjectChange, Long> {
+
+    List<ProjectChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM ProjectChange c")
+    long findLastSeq();
+}
@@ -1,14 +1,25 @@
 package com.example.Project.repository;
 
 import com.example.Project.entity.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    List<Project> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT p.id FROM Project p")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.version FROM Project p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
     @Query("SELECT t.areaId, COUNT(t.id) FROM Project t GROUP BY t.areaId")
     List<Object[]>findProjectCountByArea();
 }
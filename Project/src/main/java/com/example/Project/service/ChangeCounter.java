@@ -0,0 +1,65 @@
+package com.example.Project.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the writes to the projects table, so listings can be tagged with a cheap ETag
+ * that changes whenever any row changes. The counter starts over on restart, so the
+ * start time is part of the tag.
+ */
+@Component
+public class ChangeCounter {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Records a write. Inside a transaction the counter moves once it commits, so a
+     * new tag is never handed out before the data it describes is visible.
+     */
+    public void markChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changes.incrementAndGet();
+                }
+            });
+        } else {
+            changes.incrementAndGet();
+        }
+    }
+
+    public String collectionETag() {
+        return "\"" + epoch + "-" + changes.get() + "\"";
+    }
+
+    public static String entityETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the version a write is conditional on from its If-Match header.
+     * @param ifMatch The header, or null.
+     * @return The version, null if the write is unconditional, or -1 if the header does not
+     *         hold a single entity tag of this service, which no version matches.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                return -1L;
+            }
+        }
+        return -1L;
+    }
+}
@@ -2,19 +2,30 @@ package com.example.Project.service;
 
 
 import com.example.Project.dto.Area;
+import com.example.Project.dto.CursorPage;
+import com.example.Project.dto.IdChangeFeed;
 import com.example.Project.dto.ProjectDTO;
 import com.example.Project.entity.Project;
+import com.example.Project.entity.ProjectChange;
+import com.example.Project.repository.ProjectChangeRepository;
 import com.example.Project.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.*;
 
 
@@ -29,6 +40,12 @@ public class ProjectService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectChangeRepository projectChangeRepository;
+
 
     /**
      * Retrieves a project by ID.
@@ -75,11 +92,46 @@ public class ProjectService {
 
 
 
+    /**
+     * Retrieves a page of projects ordered by ID, starting after the given cursor.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of projects to return.
+     * @return The page of projects.
+     */
+    public CursorPage<Project> getProjectsPage(String cursor, int size){
+        CursorPage.validateSize(size);
+        List<Project> projects = projectRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        return CursorPage.of(projects, size, Project::getId);
+    }
+
+    /**
+     * Retrieves the projects matching the given IDs in a single query.
+     * @param ids The IDs of the projects to retrieve.
+     * @return List of the projects found.
+     */
+    public List<Project> getProjectsByIds(List<Long> ids){
+        if (ids == null || ids.isEmpty()){
+            throw new IllegalArgumentException("Project ids cannot be null or empty");
+        }
+        return projectRepository.findAllById(ids);
+    }
+
+    /**
+     * Retrieves the current version of a project without loading it.
+     * @param id The ID of the project.
+     * @return The version, or empty if the project does not exist.
+     */
+    public Optional<Long> getProjectVersion(Long id){
+        return projectRepository.findVersionById(id);
+    }
+
     /**
      * Creates a new project.
      * @param project The project to be created.
      * @return The newly created project.
      */
+    @Transactional
     public Project createProject(Project project){
         if (project == null){
             throw new IllegalArgumentException("Project cannot be null");
@@ -87,16 +139,21 @@ public class ProjectService {
         if (project.getName() == null || project.getName().isEmpty()){
             throw new IllegalArgumentException("Project name is required");
         }
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        projectChangeRepository.save(new ProjectChange(savedProject.getId(), false));
+        return savedProject;
     }
 
     /**
      * Updates an existing project.
      * @param updateProject The project with updated data.
+     * @param expectedVersion The version the update is conditional on, or null.
      * @return The updated project.
      * @throws EntityNotFoundException If the project is not found.
+     * @throws ObjectOptimisticLockingFailureException If the project is not at the expected version.
      */
-    public Project updateProject(Project updateProject){
+    @Transactional
+    public Project updateProject(Project updateProject, Long expectedVersion){
         if (updateProject == null){
             throw new IllegalArgumentException("Update cannot be null");
         }
@@ -107,6 +164,7 @@ public class ProjectService {
         }
 
             Project existingProject = projectOptional.get();
+            checkVersion(existingProject, expectedVersion);
             existingProject.setName(updateProject.getName());
             existingProject.setStartDate(updateProject.getStartDate());
             existingProject.setEndDate(updateProject.getEndDate());
@@ -114,15 +172,95 @@ public class ProjectService {
             return projectRepository.save(existingProject);
     }
 
+    /**
+     * Applies a JSON merge patch to a project, writing only the supplied fields.
+     * If the patch carries a version, it must match the stored one.
+     * @param id The ID of the project to patch.
+     * @param patch The JSON merge patch document.
+     * @param expectedVersion The version the patch is conditional on, or null.
+     * @return The patched project.
+     * @throws EntityNotFoundException If the project is not found.
+     * @throws ObjectOptimisticLockingFailureException If the project is not at the expected version.
+     */
+    @Transactional
+    public Project patchProject(Long id, JsonNode patch, Long expectedVersion){
+        if (patch == null || !patch.isObject()){
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Project with id " + id + " not found!"));
+
+        JsonNode patchedVersion = patch.get("version");
+        if (patchedVersion != null && !patchedVersion.isNull() && patchedVersion.asLong() != project.getVersion()){
+            throw new ObjectOptimisticLockingFailureException(Project.class, id);
+        }
+        checkVersion(project, expectedVersion);
+
+        ObjectNode changes = ((ObjectNode) patch).deepCopy();
+        changes.remove(List.of("id", "version"));
+        try {
+            objectMapper.readerForUpdating(project).readValue(changes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage());
+        }
+        return projectRepository.saveAndFlush(project);
+    }
+
+    /**
+     * Fails a conditional write if the project, as loaded by its transaction, has moved on;
+     * the versioned UPDATE then catches any write committed after the load.
+     */
+    private static void checkVersion(Project project, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != project.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Project.class, project.getId());
+        }
+    }
+
     /**
      * Deletes a project by ID.
      * @param projectId The ID of the project to be deleted.
      */
+    @Transactional
     public void deleteProject(Long projectId){
         if (projectId == null || projectId <= 0){
             throw new IllegalArgumentException("Invalid id project");
         }
         projectRepository.deleteById(projectId);
+        projectChangeRepository.save(new ProjectChange(projectId, true));
+    }
+
+    /**
+     * Reads the change feed of project ids. A {@code since} of 0 returns a full snapshot.
+     * @param since The sequence returned by the previous call.
+     * @param limit The maximum number of changes to return.
+     * @return The created and deleted ids after {@code since}.
+     */
+    @Transactional(readOnly = true)
+    public IdChangeFeed getIdChanges(long since, int limit){
+        if (since < 0){
+            throw new IllegalArgumentException("Since cannot be negative");
+        }
+        if (limit <= 0 || limit > IdChangeFeed.MAX_LIMIT){
+            throw new IllegalArgumentException("Limit must be between 1 and " + IdChangeFeed.MAX_LIMIT);
+        }
+        if (since == 0){
+            long last = projectChangeRepository.findLastSeq();
+            return new IdChangeFeed(projectRepository.findAllIds(), List.of(), last, true, false);
+        }
+        List<ProjectChange> changes = projectChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore){
+            changes = changes.subList(0, limit);
+        }
+        Map<Long, Boolean> deletedById = new LinkedHashMap<>();
+        for (ProjectChange change : changes){
+            deletedById.put(change.getProjectId(), change.isDeleted());
+        }
+        List<Long> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        deletedById.forEach((id, isDeleted) -> (isDeleted ? deleted : upserted).add(id));
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new IdChangeFeed(upserted, deleted, next, false, hasMore);
     }
 
     /**
@@ -1,5 +1,5 @@
-insert into project(name, start_Date, end_Date, area_Id) values ('POC', '19/02/2024', '28/02/2024', 1);
-insert into project(name, start_Date, end_Date, area_Id) values ('Micro', '20/04/2024', '05/05/2024', 2);
-insert into project(name, start_Date, end_Date, area_Id) values ('Java', '20/04/2024', '05/05/2024', 2);
+insert into project(name, start_Date, end_Date, area_Id, version) values ('POC', '19/02/2024', '28/02/2024', 1, 0);
+insert into project(name, start_Date, end_Date, area_Id, version) values ('Micro', '20/04/2024', '05/05/2024', 2, 0);
+insert into project(name, start_Date, end_Date, area_Id, version) values ('Java', '20/04/2024', '05/05/2024', 2, 0);
 
 --insert into project(name, start_Date, end_Date, ticket_Id) values ('POC', '19/02/2024', '28/02/2024', 1);
\ No newline at end of file
@@ -1,27 +1,36 @@
 package com.example.Project.controller;
 
-import com.example.Project.dto.Area;
+import com.example.Project.dto.CursorPage;
 import com.example.Project.dto.ProjectDTO;
 import com.example.Project.entity.Project;
+import com.example.Project.mapper.ProjectMapper;
+import com.example.Project.service.ChangeCounter;
 import com.example.Project.service.ProjectService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,8 +39,11 @@ class ProjectControllerTest {
     @Mock
     private ProjectService projectService;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private ProjectMapper projectMapper = new ProjectMapper();
+
+    @Spy
+    private ChangeCounter changeCounter = new ChangeCounter();
 
     @InjectMocks
     private ProjectController projectController;
@@ -39,18 +51,13 @@ class ProjectControllerTest {
 
     @Test
     void getAllProjects() {
-        when(modelMapper.map(any(), eq(ProjectDTO.class))).thenAnswer(invocationOnMock -> {
-            Project source = invocationOnMock.getArgument(0);
-            return new ProjectDTO(source.getId(), source.getName(), source.getStartDate(), source.getEndDate(), new Area());
-        });
-
         Project project1 = new Project(1L, "Project1", "02/02/2024", "27/02/2024", 1L);
         Project project2 = new Project(2L, "Project2", "02/02/2024", "27/02/2024", 1L);
 
         List<Project> mockProjects = Arrays.asList(project1, project2);
         when(projectService.getAllProjects()).thenReturn(mockProjects);
 
-        List<ProjectDTO> allProjects = projectController.getAllProjects();
+        List<ProjectDTO> allProjects = projectController.getAllProjects(new ServletWebRequest(new MockHttpServletRequest()));
         verify(projectService).getAllProjects();
 
         assertEquals(2, allProjects.size());
@@ -82,11 +89,64 @@ class ProjectControllerTest {
     void updateProject() {
         Long id = 1L;
         Project existingProject = mock(Project.class);
-        when(projectService.updateProject(existingProject)).thenReturn(existingProject);
+        when(projectService.updateProject(existingProject, null)).thenReturn(existingProject);
 
-        Project updatedProject = projectController.updateProject(existingProject);
+        Project updatedProject = projectController.updateProject(existingProject, new ServletWebRequest(new MockHttpServletRequest()));
         assertEquals(existingProject, updatedProject);
-        verify(projectService).updateProject(existingProject);
+        verify(projectService).updateProject(existingProject, null);
+    }
+
+    @Test
+    void getAllProjectsNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, changeCounter.collectionETag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(projectController.getAllProjects(new ServletWebRequest(request, response)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+        verify(projectService, never()).getAllProjects();
+    }
+
+    @Test
+    void getProjectsPage() {
+        Project project1 = new Project(3L, "Project3", "02/02/2024", "27/02/2024", 1L);
+        Project project2 = new Project(4L, "Project4", "02/02/2024", "27/02/2024", 1L);
+        when(projectService.getProjectsPage(CursorPage.encodeCursor(2L), 2))
+                .thenReturn(new CursorPage<>(List.of(project1, project2), CursorPage.encodeCursor(4L)));
+
+        CursorPage<ProjectDTO> page = projectController.getProjectsPage(CursorPage.encodeCursor(2L), 2);
+
+        assertEquals(List.of("Project3", "Project4"), page.items().stream().map(ProjectDTO::getName).toList());
+        assertEquals(4L, CursorPage.decodeCursor(page.nextCursor()));
+    }
+
+    @Test
+    void getProjectByIdNotModified() {
+        when(projectService.getProjectVersion(1L)).thenReturn(Optional.of(3L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ChangeCounter.entityETag(3L));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(projectController.getProjectById(1L, new ServletWebRequest(request, response)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+        verify(projectService, never()).getProjectById(any());
+    }
+
+    @Test
+    void updateProjectWithStaleIfMatch() {
+        Project project = new Project(1L, "Project1", "02/02/2024", "27/02/2024", 1L);
+        ObjectOptimisticLockingFailureException stale = new ObjectOptimisticLockingFailureException(Project.class, 1L);
+        when(projectService.updateProject(project, 2L)).thenThrow(stale);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/projects/1");
+        request.addHeader(HttpHeaders.IF_MATCH, ChangeCounter.entityETag(2L));
+        ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> projectController.updateProject(project, webRequest));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, projectController.handleConflict(stale, webRequest).getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, projectController.handleConflict(stale,
+                new ServletWebRequest(new MockHttpServletRequest())).getStatusCode());
     }
 
     @Test
@@ -0,0 +1,31 @@
+package com.example.Project.mapper;
+
+import com.example.Project.dto.ProjectDTO;
+import com.example.Project.entity.Project;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProjectMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ProjectMapper projectMapper = new ProjectMapper();
+
+    @Test
+    void matchesModelMapper() throws Exception {
+        List<Project> projects = List.of(
+                new Project(1L, "Project1", "02/02/2024", "27/02/2024", 4L),
+                new Project(2L, "No area", "02/02/2024", "27/02/2024", null),
+                new Project());
+
+        for (Project project : projects) {
+            assertEquals(objectMapper.writeValueAsString(modelMapper.map(project, ProjectDTO.class)),
+                    objectMapper.writeValueAsString(projectMapper.toDTO(project)));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.Project.repository;
+
+import com.example.Project.entity.Project;
+import com.example.Project.service.ChangeCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+class ProjectRepositoryTest {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ChangeCounter changeCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void committedWritesChangeTheETags() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String listingTag = changeCounter.collectionETag();
+
+        Project saved = transactionTemplate.execute(status -> {
+            Project project = projectRepository.saveAndFlush(new Project(0L, "ETag", "02/02/2024", "27/02/2024", 1L));
+            assertEquals(listingTag, changeCounter.collectionETag());
+            return project;
+        });
+        String insertedTag = changeCounter.collectionETag();
+        assertNotEquals(listingTag, insertedTag);
+        String entityTag = ChangeCounter.entityETag(projectRepository.findVersionById(saved.getId()).orElseThrow());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.findById(saved.getId()).orElseThrow();
+            project.setName("Rolled back");
+            projectRepository.saveAndFlush(project);
+            status.setRollbackOnly();
+        });
+        assertEquals(insertedTag, changeCounter.collectionETag());
+        assertEquals(entityTag, ChangeCounter.entityETag(projectRepository.findVersionById(saved.getId()).orElseThrow()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.findById(saved.getId()).orElseThrow();
+            project.setName("Renamed");
+            projectRepository.saveAndFlush(project);
+        });
+        assertNotEquals(insertedTag, changeCounter.collectionETag());
+        assertNotEquals(entityTag, ChangeCounter.entityETag(projectRepository.findVersionById(saved.getId()).orElseThrow()));
+
+        projectRepository.deleteById(saved.getId());
+    }
+}
@@ -1,18 +1,27 @@
 package com.example.Project.service;
 
 import com.example.Project.dto.Area;
+import com.example.Project.dto.CursorPage;
+import com.example.Project.dto.IdChangeFeed;
 import com.example.Project.dto.ProjectDTO;
 import com.example.Project.entity.Project;
+import com.example.Project.entity.ProjectChange;
+import com.example.Project.repository.ProjectChangeRepository;
 import com.example.Project.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
@@ -29,6 +38,12 @@ class ProjectServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ProjectChangeRepository projectChangeRepository;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -71,6 +86,32 @@ class ProjectServiceTest {
         verify(projectRepository, times(1)).findAll();
     }
 
+    @Test
+    void getProjectsPage() {
+        List<Project> projectList = List.of(new Project(1L, "Project1", "02/02/2024", "27/02/2024", 1L),
+                new Project(2L, "Project2", "02/02/2024", "27/02/2024", 1L));
+        when(projectRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(projectList);
+
+        CursorPage<Project> page = projectService.getProjectsPage(null, 2);
+
+        assertEquals(2, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getProjectsByIds() {
+        List<Long> ids = List.of(1L, 2L);
+        List<Project> projectList = List.of(new Project(1L, "Project1", "02/02/2024", "27/02/2024", 1L),
+                new Project(2L, "Project2", "02/02/2024", "27/02/2024", 1L));
+        when(projectRepository.findAllById(ids)).thenReturn(projectList);
+
+        List<Project> result = projectService.getProjectsByIds(ids);
+
+        assertEquals(2, result.size());
+        verify(projectRepository, times(1)).findAllById(ids);
+        assertThrows(IllegalArgumentException.class, () -> projectService.getProjectsByIds(List.of()));
+    }
+
     @Test
     void createProject() {
         Project project = new Project(1L, "Project Name", "02/02/2024", "27/02/2024", 1L);
@@ -91,12 +132,24 @@ class ProjectServiceTest {
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(existingProject));
         when(projectRepository.save(existingProject)).thenReturn(existingProject);
 
-        Project result = projectService.updateProject(updatedProject);
+        Project result = projectService.updateProject(updatedProject, null);
 
         assertNotNull(result);
         assertEquals(updatedProject.getName(), result.getName());
     }
 
+    @Test
+    void updateProjectAtAnotherVersionThanIfMatch() {
+        Project existingProject = new Project(1L, "Project Name", "02/02/2024", "27/02/2024", 1L);
+        existingProject.setVersion(3);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(existingProject));
+
+        Project update = new Project(1L, "Project Name1", "02/03/2024", "27/03/2024", 1L);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> projectService.updateProject(update, 2L));
+        assertEquals("Project Name", existingProject.getName());
+        verify(projectRepository, never()).save(any());
+    }
+
     @Test
     void deleteProject() {
         Long projectId = 1L;
@@ -139,4 +192,63 @@ class ProjectServiceTest {
         assertEquals(1L, result.get(0).getId());
         assertEquals(2L, result.get(1).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void patchProject() throws Exception {
+        Project project = new Project(1L, "Project A", "2024-01-01", "2024-06-30", 1L);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectRepository.saveAndFlush(project)).thenReturn(project);
+
+        JsonNode patch = new ObjectMapper().readTree("{\"name\": \"Project B\", \"id\": 99, \"version\": 0}");
+        Project result = projectService.patchProject(1L, patch, null);
+
+        assertEquals("Project B", result.getName());
+        assertEquals(1L, result.getId());
+        verify(projectRepository).saveAndFlush(project);
+    }
+
+    @Test
+    void patchProjectWithStaleVersion() throws Exception {
+        Project project = new Project(1L, "Project A", "2024-01-01", "2024-06-30", 1L);
+        project.setVersion(3);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+
+        JsonNode patch = new ObjectMapper().readTree("{\"name\": \"Project B\", \"version\": 2}");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> projectService.patchProject(1L, patch, null));
+        assertEquals("Project A", project.getName());
+        verify(projectRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void getIdChangesSnapshot() {
+        when(projectChangeRepository.findLastSeq()).thenReturn(7L);
+        when(projectRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        IdChangeFeed feed = projectService.getIdChanges(0, 100);
+
+        assertTrue(feed.reset());
+        assertEquals(List.of(1L, 2L), feed.upserted());
+        assertEquals(7L, feed.next());
+    }
+
+    @Test
+    void getIdChangesDelta() {
+        List<ProjectChange> changes = List.of(change(8L, 3L, false), change(9L, 4L, false), change(10L, 3L, true), change(11L, 5L, false));
+        when(projectChangeRepository.findBySeqGreaterThanOrderBySeqAsc(7L, Limit.of(4))).thenReturn(changes);
+
+        IdChangeFeed feed = projectService.getIdChanges(7L, 3);
+
+        assertFalse(feed.reset());
+        assertTrue(feed.hasMore());
+        assertEquals(List.of(4L), feed.upserted());
+        assertEquals(List.of(3L), feed.deleted());
+        assertEquals(10L, feed.next());
+    }
+
+    private static ProjectChange change(long seq, long id, boolean deleted) {
+        ProjectChange change = new ProjectChange(id, deleted);
+        change.setSeq(seq);
+        return change;
+    }
+}
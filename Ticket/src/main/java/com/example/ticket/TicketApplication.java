@@ -1,11 +1,19 @@
 package com.example.ticket;
 
+import com.example.ticket.config.AppConfig;
+import com.example.ticket.fanout.FanOutInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @SpringBootApplication
 public class TicketApplication {
 
@@ -15,8 +23,18 @@ public class TicketApplication {
 
 	@Bean
 	@LoadBalanced
-	public RestTemplate restTemplate(){
-		return new RestTemplate();
+	public RestTemplate restTemplate(RestTemplateBuilder builder,
+									 @Value("${ticket.downstream.connect-timeout-ms:1000}") long connectTimeoutMs,
+									 @Value("${ticket.downstream.deadline-ms:2000}") long readTimeoutMs,
+									 MappingJackson2CborHttpMessageConverter cbor,
+									 MappingJackson2SmileHttpMessageConverter smile,
+									 FanOutInterceptor fanOutInterceptor){
+		RestTemplate restTemplate = builder
+				.additionalInterceptors(fanOutInterceptor)
+				.setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+				.setReadTimeout(Duration.ofMillis(readTimeoutMs))
+				.build();
+		return AppConfig.preferBinaryFormats(restTemplate, cbor, smile);
 	}
 
 }
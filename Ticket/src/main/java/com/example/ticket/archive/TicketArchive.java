@@ -0,0 +1,460 @@
+package com.example.ticket.archive;
+
+import com.example.ticket.entity.ArchiveEpoch;
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.repository.ArchiveEpochRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cold storage for tickets moved out of the ticket table. Every archival run writes one
+ * immutable segment file of deflate-compressed blocks, followed by an index of the
+ * block holding each ticket. Segments are memory-mapped, and only the id to block
+ * index is kept on the heap.
+ * <p>
+ * Ticket ids are only unique within one database, so every segment is stamped with the
+ * {@link ArchiveEpoch} of the database it was archived from, and segments of another
+ * epoch are left on disk unread. An in-memory database therefore starts with an empty
+ * archive on every start; to keep the archive across restarts, the database must persist
+ * with it.
+ * <p>
+ * Segments are immutable, so deleting an archived ticket appends its id to the
+ * tombstone file of the epoch instead.
+ *
+ * <pre>
+ * segment = MAGIC epoch block* index footer
+ * block   = compressedLength rawLength deflate(record*)
+ * record  = id length json
+ * index   = count (id blockOffset)*
+ * footer  = indexOffset MAGIC
+ * </pre>
+ */
+@Component
+public class TicketArchive {
+    private static final Logger logger = LoggerFactory.getLogger(TicketArchive.class);
+
+    private static final int MAGIC = 0x544B4132;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final String TOMBSTONES_PREFIX = "tombstones-";
+
+    private final long epoch;
+    private final Path directory;
+    private final int blockSize;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    /** Serializes appends; a lock rather than a monitor, so a virtual thread writing a segment can unmount. */
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Map<Long, Location> locations = new ConcurrentHashMap<>();
+    private int nextNumber = 1;
+
+    private record Segment(int number, MappedByteBuffer buffer, int indexOffset) {
+    }
+
+    private record Location(Segment segment, int blockOffset) {
+    }
+
+    @Autowired
+    public TicketArchive(ObjectMapper objectMapper, ArchiveEpochRepository archiveEpochRepository,
+                         @Value("${ticket.archive.directory:ticket-archive}") String directory,
+                         @Value("${ticket.archive.block-size:128}") int blockSize) {
+        this(objectMapper, databaseEpoch(archiveEpochRepository), directory, blockSize);
+    }
+
+    TicketArchive(ObjectMapper objectMapper, long epoch, String directory, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Archive block size must be a positive number");
+        }
+        this.epoch = epoch;
+        this.directory = Paths.get(directory);
+        this.blockSize = blockSize;
+        this.reader = objectMapper.readerFor(Ticket.class);
+        this.writer = objectMapper.writerFor(Ticket.class);
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the ticket archive at " + this.directory, e);
+        }
+    }
+
+    /**
+     * Writes the tickets to a new segment. The segment is flushed to disk and renamed
+     * into place before this returns, so the caller may then delete the tickets from the
+     * database. Inside a transaction the tickets only become readable once it commits,
+     * and the segment is deleted again if it rolls back.
+     *
+     * @param tickets The tickets to archive.
+     */
+    public void append(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        int number;
+        Path target;
+        appendLock.lock();
+        try {
+            number = nextNumber;
+            target = writeSegment(number, tickets);
+            nextNumber = number + 1;
+        } finally {
+            appendLock.unlock();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        publish(number, target);
+                    } else {
+                        discard(target);
+                    }
+                }
+            });
+        } else {
+            publish(number, target);
+        }
+    }
+
+    /**
+     * Removes an archived ticket for good. The tombstone is flushed to disk before this
+     * returns.
+     *
+     * @param id The ID of the ticket.
+     */
+    public void delete(long id) {
+        appendLock.lock();
+        try {
+            if (locations.remove(id) == null) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(tombstonesPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE)) {
+                // overwrites the tail of a tombstone torn by a crash
+                long end = channel.size() - channel.size() % Long.BYTES;
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, id), end);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the archive tombstone of ticket " + id, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private Path writeSegment(int number, List<Ticket> tickets) {
+        Path target = directory.resolve(segmentName(number));
+        Path temporary = directory.resolve(segmentName(number) + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeSegment(channel, tickets);
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive segment " + target, e);
+        }
+    }
+
+    private void publish(int number, Path target) {
+        appendLock.lock();
+        try {
+            register(number, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open archive segment " + target, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void discard(Path target) {
+        try {
+            Files.deleteIfExists(target);
+        } catch (IOException e) {
+            logger.warn("Could not delete the rolled back archive segment {}", target, e);
+        }
+    }
+
+    /**
+     * @param id The ID of the ticket.
+     * @return The archived ticket, or empty if it is not archived.
+     */
+    public Optional<Ticket> find(long id) {
+        Location location = locations.get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        ByteBuffer block = readBlock(location.segment(), location.blockOffset());
+        while (block.hasRemaining()) {
+            long recordId = block.getLong();
+            int length = block.getInt();
+            if (recordId == id) {
+                return Optional.of(readTicket(block, length));
+            }
+            block.position(block.position() + length);
+        }
+        return Optional.empty();
+    }
+
+    public boolean contains(long id) {
+        return locations.containsKey(id);
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    /**
+     * Scans the archive, the most recently archived segments first.
+     *
+     * @param filter The tickets to return.
+     * @param limit The maximum number of tickets to return.
+     * @return The matching tickets.
+     */
+    public List<Ticket> search(Predicate<Ticket> filter, int limit) {
+        List<Ticket> tickets = new ArrayList<>();
+        if (limit > 0) {
+            scan(ticket -> {
+                if (filter.test(ticket)) {
+                    tickets.add(ticket);
+                }
+                return tickets.size() < limit;
+            });
+        }
+        return tickets;
+    }
+
+    /**
+     * Visits every archived ticket once.
+     *
+     * @param action The action to run on each ticket.
+     */
+    public void forEach(Consumer<Ticket> action) {
+        scan(ticket -> {
+            action.accept(ticket);
+            return true;
+        });
+    }
+
+    private void scan(Predicate<Ticket> visitor) {
+        List<Segment> snapshot = new ArrayList<>(segments);
+        Collections.reverse(snapshot);
+        for (Segment segment : snapshot) {
+            int offset = HEADER_BYTES;
+            while (offset < segment.indexOffset()) {
+                ByteBuffer block = readBlock(segment, offset);
+                while (block.hasRemaining()) {
+                    long id = block.getLong();
+                    int length = block.getInt();
+                    Location location = locations.get(id);
+                    // a ticket archived twice is only visited in its latest segment
+                    if (location != null && location.segment() == segment) {
+                        if (!visitor.test(readTicket(block, length))) {
+                            return;
+                        }
+                    } else {
+                        block.position(block.position() + length);
+                    }
+                }
+                offset += 2 * Integer.BYTES + segment.buffer().getInt(offset);
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Integer> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> numbers.add(Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        Collections.sort(numbers);
+        int foreign = 0;
+        for (int number : numbers) {
+            if (!register(number, directory.resolve(segmentName(number)))) {
+                foreign++;
+            }
+            nextNumber = number + 1;
+        }
+        Path tombstones = tombstonesPath();
+        if (Files.exists(tombstones)) {
+            ByteBuffer ids = ByteBuffer.wrap(Files.readAllBytes(tombstones));
+            while (ids.remaining() >= Long.BYTES) {
+                locations.remove(ids.getLong());
+            }
+        }
+        if (foreign > 0) {
+            logger.warn("Ignoring {} archive segments in {} written by another database", foreign, directory);
+        }
+        logger.info("Opened {} archived tickets in {} segments", locations.size(), segments.size());
+    }
+
+    /**
+     * Opens a segment and indexes its tickets, unless it belongs to another epoch.
+     *
+     * @return false if the segment was written by another database.
+     */
+    private boolean register(int number, Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = buffer.capacity();
+        if (size < HEADER_BYTES + FOOTER_BYTES || buffer.getInt(size - Integer.BYTES) != buffer.getInt(0)) {
+            throw new IOException("Corrupt archive segment " + path);
+        }
+        // segments of an older format carry no epoch and cannot be matched to a database
+        if (buffer.getInt(0) != MAGIC || buffer.getLong(Integer.BYTES) != epoch) {
+            return false;
+        }
+        Segment segment = new Segment(number, buffer, (int) buffer.getLong(size - FOOTER_BYTES));
+        ByteBuffer index = buffer.duplicate().position(segment.indexOffset());
+        int count = index.getInt();
+        for (int i = 0; i < count; i++) {
+            locations.put(index.getLong(), new Location(segment, index.getInt()));
+        }
+        segments.add(segment);
+        return true;
+    }
+
+    private void writeSegment(FileChannel channel, List<Ticket> tickets) throws IOException {
+        ByteArrayOutputStream segmentBytes = new ByteArrayOutputStream();
+        DataOutputStream segment = new DataOutputStream(segmentBytes);
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        segment.writeInt(MAGIC);
+        segment.writeLong(epoch);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (int from = 0; from < tickets.size(); from += blockSize) {
+                List<Ticket> blockTickets = tickets.subList(from, Math.min(from + blockSize, tickets.size()));
+                ByteArrayOutputStream rawBytes = new ByteArrayOutputStream();
+                DataOutputStream raw = new DataOutputStream(rawBytes);
+                for (Ticket ticket : blockTickets) {
+                    byte[] json = writer.writeValueAsBytes(ticket);
+                    raw.writeLong(ticket.getId());
+                    raw.writeInt(json.length);
+                    raw.write(json);
+                    index.writeLong(ticket.getId());
+                    index.writeInt(segment.size());
+                }
+                byte[] compressed = deflate(deflater, rawBytes.toByteArray());
+                segment.writeInt(compressed.length);
+                segment.writeInt(rawBytes.size());
+                segment.write(compressed);
+            }
+        } finally {
+            deflater.end();
+        }
+        int indexOffset = segment.size();
+        segment.writeInt(tickets.size());
+        indexBytes.writeTo(segment);
+        segment.writeLong(indexOffset);
+        segment.writeInt(MAGIC);
+        ByteBuffer bytes = ByteBuffer.wrap(segmentBytes.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 16);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return compressed.toByteArray();
+    }
+
+    private static ByteBuffer readBlock(Segment segment, int offset) {
+        ByteBuffer buffer = segment.buffer().duplicate().position(offset);
+        int compressedLength = buffer.getInt();
+        int rawLength = buffer.getInt();
+        buffer.limit(buffer.position() + compressedLength);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer);
+            ByteBuffer raw = ByteBuffer.allocate(rawLength);
+            while (raw.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(raw) == 0 && inflater.needsInput()) {
+                    break;
+                }
+            }
+            if (raw.hasRemaining()) {
+                throw new IllegalStateException("Truncated block at offset " + offset + " of archive segment " + segment.number());
+            }
+            return raw.flip();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block at offset " + offset + " of archive segment " + segment.number(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private Ticket readTicket(ByteBuffer block, int length) {
+        try {
+            Ticket ticket = reader.readValue(block.array(), block.arrayOffset() + block.position(), length);
+            block.position(block.position() + length);
+            return ticket;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived ticket", e);
+        }
+    }
+
+    /**
+     * @return The epoch of the database, recorded on first start.
+     */
+    private static long databaseEpoch(ArchiveEpochRepository archiveEpochRepository) {
+        return archiveEpochRepository.findById(ArchiveEpoch.ID)
+                .orElseGet(() -> archiveEpochRepository.save(new ArchiveEpoch(ArchiveEpoch.ID, new SecureRandom().nextLong())))
+                .getEpoch();
+    }
+
+    private Path tombstonesPath() {
+        return directory.resolve(TOMBSTONES_PREFIX + Long.toHexString(epoch));
+    }
+
+    private static String segmentName(int number) {
+        return SEGMENT_PREFIX + String.format("%06d", number) + SEGMENT_SUFFIX;
+    }
+}
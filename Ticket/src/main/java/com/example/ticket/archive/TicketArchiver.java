@@ -0,0 +1,44 @@
+package com.example.ticket.archive;
+
+import com.example.ticket.service.TicketService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically moves resolved tickets out of the ticket table into the archive, one
+ * transaction per batch.
+ */
+@Component
+public class TicketArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(TicketArchiver.class);
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Value("${ticket.archive.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Archives batches until no archivable ticket is left.
+     *
+     * @return The number of tickets archived.
+     */
+    @Scheduled(initialDelayString = "${ticket.archive.interval-ms:3600000}",
+            fixedDelayString = "${ticket.archive.interval-ms:3600000}")
+    public int archive() {
+        int total = 0;
+        int archived;
+        do {
+            archived = ticketService.archiveResolvedTickets(batchSize);
+            total += archived;
+        } while (archived == batchSize);
+        if (total > 0) {
+            logger.info("Archived {} resolved tickets", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ticket.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based store of responses keyed by the client supplied Idempotency-Key.
+ * A retried request gets the stored response without running the write again; a
+ * retry arriving while the first attempt is still running waits for its result.
+ * Failed attempts and non-2xx responses are not kept, so they can be retried.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result) {
+    }
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${ticket.idempotency.maximum-size:10000}") long maximumSize,
+                            @Value("${ticket.idempotency.ttl-ms:86400000}") long ttlMs) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    /**
+     * Runs a write once per idempotency key and returns its response to every retry.
+     *
+     * @param scope   The operation, so the same key can be used on different endpoints.
+     * @param key     The Idempotency-Key header, or null to always run the write.
+     * @param payload The request, which must be the same on every retry.
+     * @param action  The write to run.
+     * @return The response of the first successful attempt.
+     * @throws ResponseStatusException If the key was already used with a different request.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Object payload, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        String cacheKey = scope + ":" + key;
+        Entry entry = new Entry(fingerprint(payload), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, entry);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(entry.fingerprint())) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key " + key + " was already used with a different request");
+            }
+            try {
+                return (T) existing.result().join();
+            } catch (CompletionException e) {
+                return execute(scope, key, payload, action);
+            }
+        }
+        try {
+            T result = action.get();
+            if (result instanceof ResponseEntity<?> response && !response.getStatusCode().is2xxSuccessful()) {
+                entries.asMap().remove(cacheKey, entry);
+            }
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.asMap().remove(cacheKey, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private String fingerprint(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot fingerprint request: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ticket.cache;
+
+import com.example.ticket.dto.CacheStatistics;
+import com.example.ticket.dto.People;
+import com.example.ticket.dto.Project;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based in-process cache for the Project and People reference data
+ * fetched from the PROJECT and PEOPLE services. A 404 from the downstream service
+ * is cached as a negative entry with a shorter TTL. Concurrent misses on the same id share
+ * one load, which runs on the calling thread outside the cache's locks, so a virtual thread
+ * waiting on the downstream service does not pin its carrier.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final AsyncCache<Long, Optional<Project>> projects;
+    private final AsyncCache<Long, Optional<People>> people;
+
+    public ReferenceDataCache(@Value("${ticket.reference-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${ticket.reference-cache.ttl-ms:300000}") long ttlMs,
+                              @Value("${ticket.reference-cache.negative-ttl-ms:30000}") long negativeTtlMs) {
+        this.projects = buildCache(maximumSize, ttlMs, negativeTtlMs);
+        this.people = buildCache(maximumSize, ttlMs, negativeTtlMs);
+    }
+
+    /**
+     * Returns the cached project, loading it on a miss.
+     *
+     * @param id     The ID of the project.
+     * @param loader Fetches the project from the PROJECT service.
+     * @return The project.
+     * @throws EntityNotFoundException If the project does not exist.
+     */
+    public Project getProject(Long id, Function<Long, Project> loader) {
+        return get(projects, id, loader)
+                .orElseThrow(() -> new EntityNotFoundException("Project with id: " + id + " not found"));
+    }
+
+    /**
+     * Returns the cached person, loading it on a miss.
+     *
+     * @param id     The ID of the person.
+     * @param loader Fetches the person from the PEOPLE service.
+     * @return The person.
+     * @throws EntityNotFoundException If the person does not exist.
+     */
+    public People getPeople(Long id, Function<Long, People> loader) {
+        return get(people, id, loader)
+                .orElseThrow(() -> new EntityNotFoundException("People with id: " + id + " not found"));
+    }
+
+    public void invalidateAll() {
+        projects.synchronous().invalidateAll();
+        people.synchronous().invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters of both caches.
+     *
+     * @return Statistics keyed by cache name.
+     */
+    public Map<String, CacheStatistics> getStatistics() {
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        statistics.put("projects", toStatistics(projects.synchronous()));
+        statistics.put("people", toStatistics(people.synchronous()));
+        return statistics;
+    }
+
+    /**
+     * Returns the cached value, or installs a future and completes it on this thread. A failed
+     * load is removed from the cache with its future, so only the callers already waiting see it.
+     */
+    private static <T> Optional<T> get(AsyncCache<Long, Optional<T>> cache, Long id, Function<Long, T> loader) {
+        CompletableFuture<Optional<T>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<T>> cached = cache.get(id, (key, executor) -> created);
+        if (cached == created) {
+            try {
+                created.complete(load(id, loader));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> Optional<T> load(Long id, Function<Long, T> loader) {
+        try {
+            return Optional.ofNullable(loader.apply(id));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+
+    private static CacheStatistics toStatistics(Cache<Long, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                stats.hitRate(), cache.estimatedSize());
+    }
+
+    private static <T> AsyncCache<Long, Optional<T>> buildCache(long maximumSize, long ttlMs, long negativeTtlMs) {
+        long ttlNanos = Duration.ofMillis(ttlMs).toNanos();
+        long negativeTtlNanos = Duration.ofMillis(negativeTtlMs).toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Optional<T>>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Optional<T> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Optional<T> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Optional<T> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+}
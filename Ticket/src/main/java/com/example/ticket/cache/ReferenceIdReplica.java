@@ -0,0 +1,132 @@
+package com.example.ticket.cache;
+
+import com.example.ticket.dto.IdChangeFeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local replica of the valid project and people ids, kept current from the change
+ * feeds of the PROJECT and PEOPLE services. Ticket writes check ids against it in
+ * memory, so they do not depend on those services being up or fast.
+ */
+@Component
+public class ReferenceIdReplica {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceIdReplica.class);
+
+    private final ReplicatedIds projects = new ReplicatedIds("projects", "http://localhost:9092/projects/changes");
+    private final ReplicatedIds people = new ReplicatedIds("people", "http://localhost:9094/people/changes");
+
+    private final RestTemplate restTemplate;
+    private final int batchSize;
+    private final long snapshotIntervalMs;
+    private final long replayWindow;
+
+    /**
+     * @param replayWindow How many feed sequences before the cursor each sync reads again.
+     *                     Sequences are taken when a change is written but become visible
+     *                     when it commits, so a change can appear behind the cursor.
+     */
+    public ReferenceIdReplica(RestTemplate restTemplate,
+                              @Value("${ticket.reference-ids.batch-size:1000}") int batchSize,
+                              @Value("${ticket.reference-ids.snapshot-interval-ms:600000}") long snapshotIntervalMs,
+                              @Value("${ticket.reference-ids.replay-window:100}") long replayWindow) {
+        this.restTemplate = restTemplate;
+        this.batchSize = batchSize;
+        this.snapshotIntervalMs = snapshotIntervalMs;
+        this.replayWindow = replayWindow;
+    }
+
+    public boolean containsProject(Long id) {
+        return id != null && projects.ids.contains(id);
+    }
+
+    public boolean containsPeople(Long id) {
+        return id != null && people.ids.contains(id);
+    }
+
+    /**
+     * Pulls the changes of both feeds since the last sync. The first sync starts from a
+     * full snapshot, and a new snapshot is taken periodically in case a feed was reset.
+     * Each sync starts a window behind the cursor, to pick up changes whose sequence was
+     * passed before they committed; replaying a change is harmless.
+     */
+    @Scheduled(fixedDelayString = "${ticket.reference-ids.sync-interval-ms:5000}")
+    public void sync() {
+        projects.sync();
+        people.sync();
+    }
+
+    private final class ReplicatedIds {
+        private final String name;
+        private final String url;
+        private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        /** Held across the feed calls; a monitor would pin the carrier of a virtual thread. */
+        private final ReentrantLock lock = new ReentrantLock();
+        private long cursor;
+        private long snapshotAt;
+        private boolean failing;
+
+        private ReplicatedIds(String name, String url) {
+            this.name = name;
+            this.url = url;
+        }
+
+        private void sync() {
+            lock.lock();
+            try {
+                pull();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void pull() {
+            if (System.currentTimeMillis() - snapshotAt >= snapshotIntervalMs) {
+                cursor = 0;
+            }
+            // 0 asks for a snapshot, so the window stops at the first sequence
+            long since = cursor == 0 ? 0 : Math.max(1, cursor - replayWindow);
+            try {
+                IdChangeFeed feed;
+                do {
+                    feed = restTemplate.getForObject(url + "?since=" + since + "&limit=" + batchSize, IdChangeFeed.class);
+                    if (feed == null) {
+                        return;
+                    }
+                    apply(feed);
+                    since = cursor;
+                } while (feed.hasMore());
+                if (failing) {
+                    logger.info("Replication of {} ids recovered, {} ids known", name, ids.size());
+                    failing = false;
+                }
+            } catch (RuntimeException e) {
+                if (!failing) {
+                    logger.warn("Replication of {} ids failed, keeping {} known ids: {}", name, ids.size(), e.getMessage());
+                    failing = true;
+                }
+            }
+        }
+
+        private void apply(IdChangeFeed feed) {
+            if (feed.reset()) {
+                ids.retainAll(new HashSet<>(feed.upserted()));
+                snapshotAt = System.currentTimeMillis();
+                cursor = feed.next();
+            }
+            ids.addAll(feed.upserted());
+            feed.deleted().forEach(ids::remove);
+            // a replayed window ending before the cursor must not move it back
+            cursor = Math.max(cursor, feed.next());
+        }
+    }
+}
@@ -1,13 +1,117 @@
 package com.example.ticket.config;
 
-import org.modelmapper.ModelMapper;
+import com.example.ticket.archive.TicketArchive;
+import com.example.ticket.fanout.FanOutLedger;
+import com.example.ticket.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executor;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
+    /**
+     * Executor used to call the PROJECT and PEOPLE services concurrently. Tasks carry the
+     * fan-out ledger of the request that submitted them. With virtual threads enabled each
+     * call gets its own virtual thread, so calls no longer queue behind a fixed pool.
+     * Otherwise, once the pool and its queue are full, further calls are rejected and the
+     * request fails fast with 503. Running them on the request thread instead would let
+     * them outlast the downstream deadline. Being an {@link Executor} bean, it also makes
+     * Spring Boot back off from its {@code applicationTaskExecutor}.
+     * @param virtualThreads Whether the service runs on virtual threads.
+     * @return The executor.
+     */
+    @Bean
+    public Executor downstreamExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads){
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("downstream-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(FanOutLedger::propagate);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(50);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("downstream-");
+        executor.setTaskDecorator(FanOutLedger::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * CBOR converter sharing the configuration of the JSON object mapper. It replaces
+     * Spring's default one in place, after JSON, so JSON stays the default response type.
+     */
     @Bean
-    public ModelMapper modelMapper(){
-        return new ModelMapper();
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper){
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    /**
+     * Smile converter sharing the configuration of the JSON object mapper.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper){
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    /**
+     * Tags the RestTemplate timers with the target service and a bounded URI.
+     */
+    @Bean
+    public ClientRequestObservationConvention clientRequestObservationConvention(){
+        return new ServiceClientObservationConvention();
+    }
+
+    /**
+     * Row counts of the service's tables, read on each scrape.
+     */
+    @Bean
+    public MeterBinder tableSizeMetrics(TicketRepository ticketRepository, TicketArchive ticketArchive){
+        return registry -> {
+            Gauge.builder("db.table.rows", ticketRepository, TicketRepository::count)
+                    .description("Rows in the table")
+                    .tag("table", "ticket")
+                    .register(registry);
+            Gauge.builder("ticket.archive.tickets", ticketArchive, TicketArchive::size)
+                    .description("Tickets in the cold archive")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Moves the Smile and CBOR converters in front of JSON, so internal calls list them
+     * first in their Accept header and get a binary body back. Smile goes first, as it
+     * gives the smallest listings and the fastest reads.
+     * @param restTemplate The template used for calls to the other services.
+     * @param cbor The CBOR converter.
+     * @param smile The Smile converter.
+     * @return The same template.
+     */
+    public static RestTemplate preferBinaryFormats(RestTemplate restTemplate,
+                                                   MappingJackson2CborHttpMessageConverter cbor,
+                                                   MappingJackson2SmileHttpMessageConverter smile){
+        List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.addAll(0, List.of(smile, cbor));
+        return restTemplate;
     }
 }
@@ -1,23 +1,50 @@
 package com.example.ticket.controller;
 
 
+import com.example.ticket.cache.IdempotencyStore;
+import com.example.ticket.dto.BulkTicketUpdate;
+import com.example.ticket.dto.CacheStatistics;
+import com.example.ticket.dto.CursorPage;
+import com.example.ticket.dto.CycleTimeStats;
+import com.example.ticket.dto.DailyFlow;
 import com.example.ticket.dto.ProjectTicketProgress;
+import com.example.ticket.dto.SlaBreach;
+import com.example.ticket.dto.TicketBatchResult;
 import com.example.ticket.dto.TicketDTO;
+import com.example.ticket.dto.TicketSearchCriteria;
+import com.example.ticket.dto.TicketSearchHit;
 import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.CycleTimeGroup;
 import com.example.ticket.enums.TicketPriority;
 import com.example.ticket.enums.TicketStatus;
 import com.example.ticket.enums.TicketType;
+import com.example.ticket.mapper.TicketMapper;
+import com.example.ticket.service.ChangeCounter;
+import com.example.ticket.service.DownstreamUnavailableException;
 import com.example.ticket.service.TicketService;
-import org.modelmapper.ModelMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @CrossOrigin("*")
@@ -25,36 +52,86 @@ import java.util.stream.Collectors;
 @RequestMapping("/tickets")
 public class TicketController {
     private static final Logger logger = LoggerFactory.getLogger(TicketController.class);
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     @Autowired
     private TicketService ticketService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private TicketMapper ticketMapper;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ChangeCounter changeCounter;
 
     public TicketController(TicketService ticketService){
         this.ticketService = ticketService;
     }
 
     /**
-     * Retrieves all tickets.
+     * Retrieves all tickets. Answers 304 when If-None-Match carries the current listing ETag.
+     * @param webRequest The current request.
      * @return List of all tickets.
      */
     @GetMapping
-    public List<TicketDTO> getAllTickets(){
+    public List<TicketDTO> getAllTickets(WebRequest webRequest){
+        if (notModified(webRequest, changeCounter.collectionETag())){
+            return null;
+        }
         List<Ticket> tickets = ticketService.getAllTickets();
         return tickets.stream()
-                .map(ticket -> modelMapper.map(ticket, TicketDTO.class))
+                .map(ticketMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves a page of tickets ordered by ID.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of tickets to return.
+     * @return The page of tickets and the cursor of the next page.
+     */
+    @GetMapping(params = "size")
+    public CursorPage<TicketDTO> getTicketsPage(@RequestParam(required = false) String cursor, @RequestParam int size){
+        return ticketService.getTicketsPage(cursor, size)
+                .map(ticketMapper::toDTO);
+    }
+
+    /**
+     * Exports all tickets as newline-delimited JSON, streamed straight to the response.
+     * @param response The HTTP response to write to.
+     * @throws IOException If writing the response fails.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportTickets(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        ticketService.exportTickets(response.getOutputStream());
+    }
+
+    /**
+     * Retrieves all tickets with their project and assigned person resolved.
+     * @return List of all tickets with project and people details.
+     */
+    @GetMapping("/enriched")
+    public List<TicketDTO> getAllTicketsEnriched(){
+        return ticketService.getAllTicketsEnriched();
+    }
+
     /**
      * Retrieves a ticket by its ID.
+     * Answers 304 before any enrichment call when If-None-Match carries the current version.
      * @param id The ID of the ticket to retrieve.
+     * @param webRequest The current request.
      * @return The ticket if found, null otherwise.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTicketById(@PathVariable Long id){
+    public ResponseEntity<?> getTicketById(@PathVariable Long id, WebRequest webRequest){
+        Optional<Long> version = ticketService.getTicketVersion(id);
+        if (version.isPresent() && notModified(webRequest, ChangeCounter.entityETag(version.get()))){
+            return null;
+        }
         return ticketService.getTicketById(id);
     }
 
@@ -68,6 +145,19 @@ public class TicketController {
         return ticketService.searchByPriority(priority);
     }
 
+    /**
+     * Searches a page of tickets by priority.
+     * @param priority The priority to search for.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of tickets to return.
+     * @return The page of tickets and the cursor of the next page.
+     */
+    @GetMapping(value = "/search/priority", params = "size")
+    public CursorPage<Ticket> searchByPriority(@RequestParam TicketPriority priority,
+                                               @RequestParam(required = false) String cursor, @RequestParam int size){
+        return ticketService.searchByPriority(priority, cursor, size);
+    }
+
     /**
      * Searches tickets by status.
      * @param status The status to search for.
@@ -78,6 +168,73 @@ public class TicketController {
         return ticketService.searchByStatus(status);
     }
 
+    /**
+     * Searches a page of tickets by status.
+     * @param status The status to search for.
+     * @param cursor The cursor returned with the previous page, omitted for the first page.
+     * @param size The maximum number of tickets to return.
+     * @return The page of tickets and the cursor of the next page.
+     */
+    @GetMapping(value = "/search/status", params = "size")
+    public CursorPage<Ticket> searchByStatus(@RequestParam TicketStatus status,
+                                             @RequestParam(required = false) String cursor, @RequestParam int size){
+        return ticketService.searchByStatus(status, cursor, size);
+    }
+
+    /**
+     * Searches for tickets by any combination of status, priority, type, project, person and creation range.
+     * @param status The status to filter by.
+     * @param priority The priority to filter by.
+     * @param type The type to filter by.
+     * @param projectId The project to filter by.
+     * @param peopleId The assigned person to filter by.
+     * @param createdFrom The inclusive lower bound of the creation date.
+     * @param createdTo The exclusive upper bound of the creation date.
+     * @param sortBy The field to sort by.
+     * @param direction The sort direction.
+     * @param size The maximum number of tickets to return.
+     * @return List of matching tickets.
+     */
+    @GetMapping("/search")
+    public List<Ticket> searchTickets(@RequestParam(required = false) TicketStatus status,
+                                      @RequestParam(required = false) TicketPriority priority,
+                                      @RequestParam(required = false) TicketType type,
+                                      @RequestParam(required = false) Long projectId,
+                                      @RequestParam(required = false) Long peopleId,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                                      @RequestParam(defaultValue = "id") String sortBy,
+                                      @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                      @RequestParam(defaultValue = "100") int size){
+        TicketSearchCriteria criteria = new TicketSearchCriteria(status, priority, type, projectId, peopleId, createdFrom, createdTo);
+        return ticketService.searchTickets(criteria, sortBy, direction, size);
+    }
+
+    /**
+     * Full-text search over ticket titles and descriptions, ranked by relevance.
+     * @param q The free-text query.
+     * @param limit The maximum number of hits to return.
+     * @return The matching tickets, best match first.
+     */
+    @GetMapping("/fulltext")
+    public List<TicketSearchHit> fullTextSearch(@RequestParam String q, @RequestParam(defaultValue = "20") int limit){
+        return ticketService.fullTextSearch(q, limit);
+    }
+
+    /**
+     * Searches the archived tickets.
+     * @param projectId Only tickets of this project, if set.
+     * @param status Only tickets with this status, if set.
+     * @param size The maximum number of tickets to return.
+     * @return The matching archived tickets, the most recently archived first.
+     */
+    @GetMapping("/archive")
+    public List<Ticket> searchArchive(@RequestParam(required = false) Long projectId,
+                                      @RequestParam(required = false) TicketStatus status,
+                                      @RequestParam(defaultValue = "100") int size){
+        return ticketService.searchArchive(projectId, status, size);
+    }
+
     /**
      * Searches for completed tickets.
      * @return List of completed tickets.
@@ -97,12 +254,64 @@ public class TicketController {
     }
 
     /**
-     * Creates a new ticket.
+     * Counts the tickets created and resolved on each day of a range.
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @return The daily counts; days without activity are omitted.
+     */
+    @GetMapping("/analytics/daily-flow")
+    public List<DailyFlow> getDailyFlow(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return ticketService.getDailyFlow(from, to);
+    }
+
+    /**
+     * Retrieves the cycle time percentiles of resolved tickets.
+     * @param groupBy The dimension to group by.
+     * @param projectId Only tickets of this project, if set.
+     * @param priority Only tickets with this priority, if set.
+     * @param type Only tickets of this type, if set.
+     * @return The p50, p90 and p99 cycle times of each group, in seconds.
+     */
+    @GetMapping("/analytics/cycle-time")
+    public List<CycleTimeStats> getCycleTimes(@RequestParam(defaultValue = "PROJECT") CycleTimeGroup groupBy,
+                                              @RequestParam(required = false) Long projectId,
+                                              @RequestParam(required = false) TicketPriority priority,
+                                              @RequestParam(required = false) TicketType type){
+        return ticketService.getCycleTimes(groupBy, projectId, priority, type);
+    }
+
+    /**
+     * Lists the open tickets past the SLA of their priority.
+     * @param includeAtRisk Whether to include tickets close to breaching.
+     * @param limit The maximum number of tickets to return.
+     * @return The tickets, the earliest due first.
+     */
+    @GetMapping("/sla/breaches")
+    public List<SlaBreach> getSlaBreaches(@RequestParam(defaultValue = "false") boolean includeAtRisk,
+                                          @RequestParam(defaultValue = "100") int limit){
+        return ticketService.getSlaBreaches(includeAtRisk, limit);
+    }
+
+    /**
+     * Retrieves the SLA of each priority.
+     * @return The time an open ticket of each priority may stay open.
+     */
+    @GetMapping("/sla/policy")
+    public Map<TicketPriority, Duration> getSlaPolicy(){
+        return ticketService.getSlaPolicy();
+    }
+
+    /**
+     * Creates a new ticket. A retry carrying the same Idempotency-Key gets the ticket
+     * created by the first attempt.
+     * @param idempotencyKey Optional key identifying retries of the same request.
      * @param ticket The ticket to create.
      * @return The created ticket.
      */
     @PostMapping
-    public Ticket createTicket(@RequestBody Ticket ticket){
+    public Ticket createTicket(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                               @RequestBody Ticket ticket){
         Long project = ticket.getProjectId();
         Long assignedTo = ticket.getPeopleId();
 
@@ -113,17 +322,42 @@ public class TicketController {
             throw new IllegalArgumentException("The assign person associated with the ticket cannot be null");
         }
         logger.info("Received ticket request: {}", ticket);
-        return ticketService.createTicket(ticket);
+        return idempotencyStore.execute("POST /tickets", idempotencyKey, ticket,
+                () -> ticketService.createTicket(ticket));
     }
 
     /**
-     * Updates an existing ticket.
+     * Creates several tickets in one request.
+     * @param tickets The tickets to create.
+     * @return The result of each ticket, in the order received.
+     */
+    @PostMapping("/batch")
+    public List<TicketBatchResult> createTickets(@RequestBody List<Ticket> tickets){
+        logger.info("Received batch of {} tickets", tickets.size());
+        return ticketService.createTickets(tickets);
+    }
+
+    /**
+     * Updates an existing ticket, answering 412 if If-Match does not carry its current version.
      * @param ticket The updated ticket data.
+     * @param webRequest The current request.
      * @return The updated ticket.
      */
     @PutMapping("/{id}")
-    public Ticket updateTicket(@RequestBody Ticket ticket){
-        return ticketService.updateTicket(ticket);
+    public Ticket updateTicket(@RequestBody Ticket ticket, WebRequest webRequest){
+        return ticketService.updateTicket(ticket, ChangeCounter.expectedVersion(webRequest.getHeader(HttpHeaders.IF_MATCH)));
+    }
+
+    /**
+     * Partially updates a ticket with a JSON merge patch.
+     * @param id The ID of the ticket to patch.
+     * @param patch The fields to change.
+     * @param webRequest The current request, whose If-Match must carry the current version if present.
+     * @return The patched ticket.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public Ticket patchTicket(@PathVariable Long id, @RequestBody JsonNode patch, WebRequest webRequest){
+        return ticketService.patchTicket(id, patch, ChangeCounter.expectedVersion(webRequest.getHeader(HttpHeaders.IF_MATCH)));
     }
 
     /**
@@ -172,13 +406,32 @@ public class TicketController {
     }
 
     /**
-     * Assigns a ticket to a user and project.
+     * Updates every ticket matching a filter in one statement.
+     * @param bulkTicketUpdate The filter and the change set to apply.
+     * @return The number of tickets updated.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<Map<String, Integer>> bulkUpdate(@RequestBody BulkTicketUpdate bulkTicketUpdate){
+        int updated = ticketService.bulkUpdate(bulkTicketUpdate.filter(), bulkTicketUpdate.changes());
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    /**
+     * Assigns a ticket to a user and project. A retry carrying the same Idempotency-Key
+     * gets the response of the first successful attempt.
+     * @param idempotencyKey Optional key identifying retries of the same request.
      * @param id The ID of the ticket to assign.
      * @param requestBody The request body containing user and project IDs.
      * @return ResponseEntity indicating the success or failure of the operation.
      */
     @PutMapping("/{id}/assign")
-    public ResponseEntity<String> assignTicket(@PathVariable Long id, @RequestBody Map<String, Long> requestBody){
+    public ResponseEntity<String> assignTicket(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                               @PathVariable Long id, @RequestBody Map<String, Long> requestBody){
+        return idempotencyStore.execute("PUT /tickets/" + id + "/assign", idempotencyKey, requestBody,
+                () -> assignTicket(id, requestBody));
+    }
+
+    private ResponseEntity<String> assignTicket(Long id, Map<String, Long> requestBody){
         Long idPeople = requestBody.get("idPeople");
         Long idProject = requestBody.get("idProject");
         if (idPeople != null) {
@@ -216,9 +469,52 @@ public class TicketController {
         ticketService.deleteTicket(id);
     }
 
+    /**
+     * Retrieves the statistics of the project/people reference data cache.
+     * @return Hit, miss and eviction counters keyed by cache name.
+     */
+    @GetMapping("/reference-cache/stats")
+    public ResponseEntity<Map<String, CacheStatistics>> getReferenceCacheStatistics(){
+        return ResponseEntity.ok(ticketService.getReferenceCacheStatistics());
+    }
+
     @GetMapping("/project-count")
     public ResponseEntity<Map<Long, Integer>> getTicketCountByProject(){
         Map<Long, Integer> ticketCountByProject = ticketService.getTicketCountByProject();
         return ResponseEntity.ok(ticketCountByProject);
     }
+
+    /**
+     * Answers a lost optimistic write with 412 if it was conditional on an If-Match
+     * version, and with 409 otherwise.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConflict(ObjectOptimisticLockingFailureException e, WebRequest webRequest){
+        if (webRequest.getHeader(HttpHeaders.IF_MATCH) != null){
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Ticket does not match If-Match, reload it and retry");
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Ticket was modified concurrently, reload it and retry");
+    }
+
+    /**
+     * Answers 503 when the PROJECT or PEOPLE service could not be asked in time.
+     */
+    @ExceptionHandler(DownstreamUnavailableException.class)
+    public ResponseEntity<String> handleDownstreamUnavailable(DownstreamUnavailableException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    /**
+     * Answers 304 when If-None-Match carries the tag. JSON, CBOR and Smile bodies of the
+     * same data share the tag, so the response varies on Accept for caches to keep them apart.
+     */
+    private static boolean notModified(WebRequest webRequest, String eTag){
+        if (webRequest instanceof NativeWebRequest nativeRequest){
+            HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (response != null){
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return webRequest.checkNotModified(eTag);
+    }
 }
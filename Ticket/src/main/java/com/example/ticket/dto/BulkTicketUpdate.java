@@ -0,0 +1,5 @@
+package com.example.ticket.dto;
+
+
+public record BulkTicketUpdate(TicketFilter filter, TicketChangeSet changes) {
+}
@@ -0,0 +1,5 @@
+package com.example.ticket.dto;
+
+
+public record CacheStatistics(long hits, long misses, long evictions, double hitRate, long size) {
+}
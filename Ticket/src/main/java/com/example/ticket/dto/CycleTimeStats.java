@@ -0,0 +1,10 @@
+package com.example.ticket.dto;
+
+
+/**
+ * Cycle time percentiles, from creation to resolution, of the resolved tickets of a group.
+ *
+ * @param group The project ID, priority or type of the group.
+ */
+public record CycleTimeStats(String group, long count, long p50Seconds, long p90Seconds, long p99Seconds) {
+}
@@ -0,0 +1,7 @@
+package com.example.ticket.dto;
+
+
+import java.time.LocalDate;
+
+public record DailyFlow(LocalDate date, long created, long resolved) {
+}
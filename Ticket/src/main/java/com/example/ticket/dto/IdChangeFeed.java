@@ -0,0 +1,7 @@
+package com.example.ticket.dto;
+
+
+import java.util.List;
+
+public record IdChangeFeed(List<Long> upserted, List<Long> deleted, long next, boolean reset, boolean hasMore) {
+}
@@ -0,0 +1,9 @@
+package com.example.ticket.dto;
+
+
+public record ProjectProgressSummary(Long projectId, Long totalEstimate, Long totalProgress, Long topTicketId) {
+
+    public double progressPercentage() {
+        return ((double) totalProgress / totalEstimate) * 100;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ticket.dto;
+
+
+import com.example.ticket.enums.SlaState;
+import com.example.ticket.enums.TicketPriority;
+
+import java.time.LocalDateTime;
+
+/**
+ * An open ticket that is past, or close to, the SLA of its priority.
+ */
+public record SlaBreach(long ticketId, Long projectId, TicketPriority priority, LocalDateTime createdAt,
+                        LocalDateTime dueAt, SlaState state) {
+}
@@ -0,0 +1,20 @@
+package com.example.ticket.dto;
+
+
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the SLA scanner needs to know about a ticket.
+ */
+public record SlaCandidate(long id, Long projectId, TicketPriority priority, TicketStatus status,
+                           LocalDateTime createdAt) {
+
+    public static SlaCandidate of(Ticket ticket) {
+        return new SlaCandidate(ticket.getId(), ticket.getProjectId(), ticket.getPriority(), ticket.getStatus(),
+                ticket.getCreatedAt());
+    }
+}
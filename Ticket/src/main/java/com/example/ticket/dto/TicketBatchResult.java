@@ -0,0 +1,13 @@
+package com.example.ticket.dto;
+
+
+public record TicketBatchResult(int index, Long id, boolean created, String error) {
+
+    public static TicketBatchResult created(int index, Long id) {
+        return new TicketBatchResult(index, id, true, null);
+    }
+
+    public static TicketBatchResult failed(int index, String error) {
+        return new TicketBatchResult(index, null, false, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ticket.dto;
+
+
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+
+public record TicketChangeSet(TicketStatus status, TicketPriority priority, TicketType type, Integer progress, Long peopleId) {
+
+    public boolean isEmpty() {
+        return status == null && priority == null && type == null && progress == null && peopleId == null;
+    }
+}
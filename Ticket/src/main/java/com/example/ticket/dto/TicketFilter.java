@@ -0,0 +1,13 @@
+package com.example.ticket.dto;
+
+
+import com.example.ticket.enums.TicketStatus;
+
+import java.util.List;
+
+public record TicketFilter(List<Long> ids, Long projectId, Long peopleId, TicketStatus status) {
+
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty()) && projectId == null && peopleId == null && status == null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ticket.dto;
+
+
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the flow analytics know about a ticket. {@code resolvedAt} is only set while the
+ * ticket is DONE, so reopened tickets stop counting as resolved.
+ */
+public record TicketFlow(long id, Long projectId, TicketPriority priority, TicketType type,
+                         LocalDateTime createdAt, LocalDateTime resolvedAt) {
+
+    public TicketFlow(long id, Long projectId, TicketPriority priority, TicketType type, TicketStatus status,
+                      LocalDateTime createdAt, LocalDateTime resolvedAt) {
+        this(id, projectId, priority, type, createdAt, status == TicketStatus.DONE ? resolvedAt : null);
+    }
+
+    public static TicketFlow of(Ticket ticket) {
+        return new TicketFlow(ticket.getId(), ticket.getProjectId(), ticket.getPriority(), ticket.getType(),
+                ticket.getStatus(), ticket.getCreatedAt(), ticket.getResolvedAt());
+    }
+}
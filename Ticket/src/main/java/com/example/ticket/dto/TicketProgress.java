@@ -0,0 +1,11 @@
+package com.example.ticket.dto;
+
+
+import com.example.ticket.entity.Ticket;
+
+public record TicketProgress(long id, Long projectId, int estimate, int progress) {
+
+    public static TicketProgress of(Ticket ticket) {
+        return new TicketProgress(ticket.getId(), ticket.getProjectId(), ticket.getEstimate(), ticket.getProgress());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ticket.dto;
+
+
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+
+import java.time.LocalDateTime;
+
+public record TicketSearchCriteria(TicketStatus status, TicketPriority priority, TicketType type,
+                                   Long projectId, Long peopleId,
+                                   LocalDateTime createdFrom, LocalDateTime createdTo) {
+
+    public boolean isEmpty() {
+        return status == null && priority == null && type == null && projectId == null && peopleId == null
+                && createdFrom == null && createdTo == null;
+    }
+}
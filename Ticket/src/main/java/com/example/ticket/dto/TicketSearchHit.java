@@ -0,0 +1,5 @@
+package com.example.ticket.dto;
+
+
+public record TicketSearchHit(long id, String title, double score) {
+}
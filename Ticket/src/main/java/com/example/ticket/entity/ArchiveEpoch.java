@@ -0,0 +1,29 @@
+package com.example.ticket.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Random marker of one database lifetime, written on first start. Archive segments are
+ * stamped with it, so a database that was recreated does not read the segments, and
+ * ticket ids, of the one before.
+ */
+@Entity
+@Table(name = "archive_epoch")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveEpoch {
+    public static final int ID = 1;
+
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private long epoch;
+}
@@ -8,23 +8,31 @@ import com.example.ticket.enums.TicketType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ticket")
+@EntityListeners(ChangeCounterListener.class)
+@DynamicUpdate
+@Table(name = "ticket", indexes = {
+        @Index(name = "idx_ticket_status_priority", columnList = "status, priority, created_At"),
+        @Index(name = "idx_ticket_priority_created", columnList = "priority, created_At"),
+        @Index(name = "idx_ticket_project_status", columnList = "project_id, status, priority"),
+        @Index(name = "idx_ticket_people_status", columnList = "people_id, status, priority"),
+        @Index(name = "idx_ticket_created", columnList = "created_At")
+})
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Ticket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     @Column(updatable = false)
     private long id;
 
@@ -67,6 +75,27 @@ public class Ticket {
 
     private Long peopleId;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Ticket(long id, String title, String description, TicketStatus status, TicketType type,
+                  TicketPriority priority, int progress, int estimate, LocalDateTime createdAt,
+                  LocalDateTime resolvedAt, Long projectId, Long peopleId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.type = type;
+        this.priority = priority;
+        this.progress = progress;
+        this.estimate = estimate;
+        this.createdAt = createdAt;
+        this.resolvedAt = resolvedAt;
+        this.projectId = projectId;
+        this.peopleId = peopleId;
+    }
+
     public void setProject(Project project){
         this.projectId = project.getId();
     }
@@ -0,0 +1,7 @@
+package com.example.ticket.enums;
+
+public enum CycleTimeGroup {
+    PROJECT,
+    PRIORITY,
+    TYPE
+}
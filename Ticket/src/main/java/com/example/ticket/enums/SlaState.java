@@ -0,0 +1,6 @@
+package com.example.ticket.enums;
+
+public enum SlaState {
+    AT_RISK,
+    BREACHED
+}
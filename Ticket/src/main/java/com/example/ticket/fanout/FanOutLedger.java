@@ -0,0 +1,115 @@
+package com.example.ticket.fanout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The remote calls made on behalf of one inbound request. The ledger of the current
+ * request is bound to the handling thread, and follows the work handed to executors
+ * decorated with {@link #propagate(Runnable)}.
+ */
+public class FanOutLedger {
+
+    private static final ThreadLocal<FanOutLedger> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicBoolean overBudget = new AtomicBoolean();
+
+    public FanOutLedger(String request) {
+        this.request = request;
+    }
+
+    public static FanOutLedger current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a ledger to the current thread.
+     *
+     * @param ledger The ledger, or null to unbind.
+     * @return The ledger bound before.
+     */
+    public static FanOutLedger bind(FanOutLedger ledger) {
+        FanOutLedger previous = CURRENT.get();
+        if (ledger == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(ledger);
+        }
+        return previous;
+    }
+
+    /**
+     * Runs a task with the ledger of the thread that submitted it.
+     *
+     * @param task The task to submit.
+     * @return The task, bound to the current ledger if there is one.
+     */
+    public static Runnable propagate(Runnable task) {
+        FanOutLedger ledger = CURRENT.get();
+        if (ledger == null) {
+            return task;
+        }
+        return () -> {
+            FanOutLedger previous = bind(ledger);
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    public String request() {
+        return request;
+    }
+
+    /**
+     * @return The number of calls made so far, including this one.
+     */
+    int recordCall() {
+        return calls.incrementAndGet();
+    }
+
+    void recordBytes(long count) {
+        bytes.addAndGet(count);
+    }
+
+    void recordWait(long nanos) {
+        waitNanos.addAndGet(nanos);
+    }
+
+    /**
+     * @return true the first time the budget is reported as exceeded.
+     */
+    boolean markOverBudget() {
+        return overBudget.compareAndSet(false, true);
+    }
+
+    public int calls() {
+        return calls.get();
+    }
+
+    /**
+     * @return The bytes sent and received by the calls.
+     */
+    public long bytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return The time spent waiting for responses, summed over the calls.
+     */
+    public long waitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.get());
+    }
+
+    public boolean isOverBudget() {
+        return overBudget.get();
+    }
+}
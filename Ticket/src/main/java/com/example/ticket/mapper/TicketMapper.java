@@ -0,0 +1,35 @@
+package com.example.ticket.mapper;
+
+import com.example.ticket.dto.People;
+import com.example.ticket.dto.Project;
+import com.example.ticket.dto.TicketDTO;
+import com.example.ticket.entity.Ticket;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps tickets to the DTOs returned by the API, without reflection.
+ */
+@Component
+public class TicketMapper {
+
+    /**
+     * Maps a ticket to its DTO. The project and the assigned person only carry their IDs,
+     * and are left null when the ticket has none.
+     * @param ticket The ticket to map.
+     * @return The DTO of the ticket.
+     */
+    public TicketDTO toDTO(Ticket ticket){
+        Project project = null;
+        if (ticket.getProjectId() != null){
+            project = new Project();
+            project.setId(ticket.getProjectId());
+        }
+        People people = null;
+        if (ticket.getPeopleId() != null){
+            people = new People();
+            people.setId(ticket.getPeopleId());
+        }
+        return new TicketDTO(ticket.getId(), ticket.getTitle(), ticket.getDescription(), ticket.getStatus(),
+                ticket.getType(), ticket.getPriority(), ticket.getProgress(), ticket.getEstimate(), project, people);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ticket.readmodel;
+
+import com.example.ticket.dto.ProjectProgressSummary;
+import com.example.ticket.dto.TicketProgress;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Materialized per-project progress: total estimate, total progress and the ticket
+ * with the highest progress (lowest id on ties). Each write adjusts one project in
+ * O(log n), so reading every rollup is independent of the number of tickets.
+ */
+@Component
+public class ProjectProgressRollups {
+
+    private static final Comparator<TicketProgress> TOP_FIRST = Comparator
+            .comparingInt(TicketProgress::progress).reversed()
+            .thenComparingLong(TicketProgress::id);
+
+    private final Map<Long, TicketProgress> tickets = new HashMap<>();
+    private final Map<Long, Rollup> rollups = new TreeMap<>();
+    private boolean seeded;
+
+    private static final class Rollup {
+        private long totalEstimate;
+        private long totalProgress;
+        private final TreeSet<TicketProgress> ranking = new TreeSet<>(TOP_FIRST);
+    }
+
+    /**
+     * Replaces every rollup with the given tickets.
+     *
+     * @param all The progress of every ticket.
+     */
+    public synchronized void rebuild(Collection<TicketProgress> all) {
+        tickets.clear();
+        rollups.clear();
+        all.forEach(this::add);
+        seeded = true;
+    }
+
+    /**
+     * Inserts or updates the contribution of a ticket, moving it between projects if needed.
+     *
+     * @param ticket The current progress of the ticket.
+     */
+    public synchronized void apply(TicketProgress ticket) {
+        remove(ticket.id());
+        add(ticket);
+    }
+
+    /**
+     * Removes the contribution of a ticket.
+     *
+     * @param id The ID of the ticket.
+     */
+    public synchronized void remove(long id) {
+        TicketProgress previous = tickets.remove(id);
+        if (previous == null) {
+            return;
+        }
+        Rollup rollup = rollups.get(previous.projectId());
+        rollup.totalEstimate -= previous.estimate();
+        rollup.totalProgress -= previous.progress();
+        rollup.ranking.remove(previous);
+        if (rollup.ranking.isEmpty()) {
+            rollups.remove(previous.projectId());
+        }
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * @return The rollup of every project with tickets, ordered by project ID.
+     */
+    public synchronized List<ProjectProgressSummary> summaries() {
+        List<ProjectProgressSummary> summaries = new ArrayList<>(rollups.size());
+        rollups.forEach((projectId, rollup) -> summaries.add(new ProjectProgressSummary(projectId,
+                rollup.totalEstimate, rollup.totalProgress, rollup.ranking.first().id())));
+        return summaries;
+    }
+
+    private void add(TicketProgress ticket) {
+        if (ticket.projectId() == null) {
+            return;
+        }
+        tickets.put(ticket.id(), ticket);
+        Rollup rollup = rollups.computeIfAbsent(ticket.projectId(), key -> new Rollup());
+        rollup.totalEstimate += ticket.estimate();
+        rollup.totalProgress += ticket.progress();
+        rollup.ranking.add(ticket);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ticket.readmodel;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free number of tickets per project, adjusted on every write and periodically
+ * reconciled against the database. Reads cost O(projects) instead of a GROUP BY over
+ * the whole ticket table.
+ */
+@Component
+public class ProjectTicketCounts {
+
+    private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+
+    public void increment(Long projectId) {
+        add(projectId, 1);
+    }
+
+    public void decrement(Long projectId) {
+        add(projectId, -1);
+    }
+
+    /**
+     * Moves one ticket from a project to another.
+     *
+     * @param fromProjectId The previous project, may be null.
+     * @param toProjectId   The new project, may be null.
+     */
+    public void move(Long fromProjectId, Long toProjectId) {
+        if (fromProjectId != null && fromProjectId.equals(toProjectId)) {
+            return;
+        }
+        decrement(fromProjectId);
+        increment(toProjectId);
+    }
+
+    /**
+     * Replaces every counter with the values read from the database.
+     *
+     * @param actual The ticket count of each project.
+     * @return The number of projects whose counter had drifted.
+     */
+    public int reconcile(Map<Long, Long> actual) {
+        int drifted = 0;
+        for (Map.Entry<Long, LongAdder> entry : counts.entrySet()) {
+            if (!actual.containsKey(entry.getKey()) && entry.getValue().sum() != 0) {
+                entry.getValue().reset();
+                drifted++;
+            }
+        }
+        for (Map.Entry<Long, Long> entry : actual.entrySet()) {
+            LongAdder counter = counts.computeIfAbsent(entry.getKey(), key -> new LongAdder());
+            long current = counter.sum();
+            if (current != entry.getValue()) {
+                counter.add(entry.getValue() - current);
+                drifted++;
+            }
+        }
+        seeded = true;
+        return drifted;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * @return The ticket count of every project that has at least one ticket.
+     */
+    public Map<Long, Integer> snapshot() {
+        Map<Long, Integer> snapshot = new HashMap<>(counts.size() * 2);
+        counts.forEach((projectId, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                snapshot.put(projectId, (int) count);
+            }
+        });
+        return snapshot;
+    }
+
+    private void add(Long projectId, long delta) {
+        if (projectId != null) {
+            counts.computeIfAbsent(projectId, key -> new LongAdder()).add(delta);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.ticket.readmodel;
+
+import com.example.ticket.dto.SlaBreach;
+import com.example.ticket.dto.SlaCandidate;
+import com.example.ticket.enums.SlaState;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.service.SlaPolicy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Open tickets ordered by when they become at risk and when they breach their SLA. Both
+ * orders are kept, so listing the tickets past either point only visits those tickets.
+ */
+@Component
+public class SlaBreachQueue {
+
+    private static final Comparator<Entry> BY_DUE_AT =
+            Comparator.comparing(Entry::dueAt).thenComparingLong(Entry::id);
+    private static final Comparator<Entry> BY_AT_RISK_AT =
+            Comparator.comparing(Entry::atRiskAt).thenComparingLong(Entry::id);
+
+    private final SlaPolicy slaPolicy;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byDueAt = new TreeSet<>(BY_DUE_AT);
+    private final TreeSet<Entry> byAtRiskAt = new TreeSet<>(BY_AT_RISK_AT);
+    private boolean seeded;
+
+    private record Entry(long id, Long projectId, TicketPriority priority, LocalDateTime createdAt,
+                         LocalDateTime atRiskAt, LocalDateTime dueAt) {
+    }
+
+    public SlaBreachQueue(SlaPolicy slaPolicy) {
+        this.slaPolicy = slaPolicy;
+    }
+
+    /**
+     * Replaces the queue with the given tickets.
+     *
+     * @param candidates The open tickets that are, or soon will be, at risk.
+     */
+    public synchronized void rebuild(Collection<SlaCandidate> candidates) {
+        entries.clear();
+        byDueAt.clear();
+        byAtRiskAt.clear();
+        candidates.forEach(this::add);
+        seeded = true;
+    }
+
+    /**
+     * Queues a ticket with its current priority, or drops it once it is no longer open.
+     *
+     * @param ticket The current state of the ticket.
+     */
+    public synchronized void apply(SlaCandidate ticket) {
+        remove(ticket.id());
+        add(ticket);
+    }
+
+    /**
+     * Drops a ticket from the queue.
+     *
+     * @param id The ID of the ticket.
+     */
+    public synchronized void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            byDueAt.remove(previous);
+            byAtRiskAt.remove(previous);
+        }
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * @param now The current time.
+     * @param includeAtRisk Whether to include tickets that are at risk but not yet breached.
+     * @param limit The maximum number of tickets to return.
+     * @return The breached (and optionally at-risk) tickets, the earliest due first.
+     */
+    public synchronized List<SlaBreach> breaches(LocalDateTime now, boolean includeAtRisk, int limit) {
+        List<SlaBreach> breaches = new ArrayList<>();
+        if (!includeAtRisk) {
+            for (Entry entry : byDueAt) {
+                if (entry.dueAt().isAfter(now) || breaches.size() == limit) {
+                    break;
+                }
+                breaches.add(toBreach(entry, now));
+            }
+            return breaches;
+        }
+        List<Entry> atRisk = new ArrayList<>();
+        for (Entry entry : byAtRiskAt) {
+            if (entry.atRiskAt().isAfter(now)) {
+                break;
+            }
+            atRisk.add(entry);
+        }
+        atRisk.sort(BY_DUE_AT);
+        for (Entry entry : atRisk.subList(0, Math.min(limit, atRisk.size()))) {
+            breaches.add(toBreach(entry, now));
+        }
+        return breaches;
+    }
+
+    private void add(SlaCandidate ticket) {
+        if (!slaPolicy.isOpen(ticket.status()) || ticket.priority() == null || ticket.createdAt() == null) {
+            return;
+        }
+        Entry entry = new Entry(ticket.id(), ticket.projectId(), ticket.priority(), ticket.createdAt(),
+                slaPolicy.atRiskAt(ticket.priority(), ticket.createdAt()),
+                slaPolicy.dueAt(ticket.priority(), ticket.createdAt()));
+        entries.put(entry.id(), entry);
+        byDueAt.add(entry);
+        byAtRiskAt.add(entry);
+    }
+
+    private static SlaBreach toBreach(Entry entry, LocalDateTime now) {
+        return new SlaBreach(entry.id(), entry.projectId(), entry.priority(), entry.createdAt(), entry.dueAt(),
+                entry.dueAt().isAfter(now) ? SlaState.AT_RISK : SlaState.BREACHED);
+    }
+}
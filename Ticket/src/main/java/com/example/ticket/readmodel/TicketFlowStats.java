@@ -0,0 +1,170 @@
+package com.example.ticket.readmodel;
+
+import com.example.ticket.dto.CycleTimeStats;
+import com.example.ticket.dto.DailyFlow;
+import com.example.ticket.dto.TicketFlow;
+import com.example.ticket.enums.CycleTimeGroup;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketType;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Materialized ticket flow: tickets created and resolved per day, and one cycle time
+ * histogram per project, priority and type. Each write adjusts one day and one histogram,
+ * and queries merge the histograms they match, so reads never rescan the tickets.
+ */
+@Component
+public class TicketFlowStats {
+
+    /** Two significant digits keep every percentile within 1% of the exact value. */
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final Comparator<Object> GROUP_ORDER = Comparator.nullsFirst(
+            (a, b) -> a instanceof Long id ? id.compareTo((Long) b)
+                    : Integer.compare(((Enum<?>) a).ordinal(), ((Enum<?>) b).ordinal()));
+
+    private final Map<Long, TicketFlow> tickets = new HashMap<>();
+    private final TreeMap<LocalDate, long[]> days = new TreeMap<>();
+    private final Map<Cell, Histogram> cycleTimes = new HashMap<>();
+    private boolean seeded;
+
+    private record Cell(Long projectId, TicketPriority priority, TicketType type) {
+    }
+
+    /**
+     * Replaces every count and histogram with the given tickets. When a ticket appears
+     * more than once, the last occurrence wins.
+     *
+     * @param all The flow of every ticket.
+     */
+    public synchronized void rebuild(Collection<TicketFlow> all) {
+        tickets.clear();
+        days.clear();
+        cycleTimes.clear();
+        all.forEach(ticket -> {
+            remove(ticket.id());
+            add(ticket);
+        });
+        seeded = true;
+    }
+
+    /**
+     * Inserts or updates the contribution of a ticket.
+     *
+     * @param ticket The current flow of the ticket.
+     */
+    public synchronized void apply(TicketFlow ticket) {
+        TicketFlow previous = tickets.get(ticket.id());
+        if (ticket.equals(previous)) {
+            return;
+        }
+        remove(ticket.id());
+        add(ticket);
+    }
+
+    /**
+     * Removes the contribution of a ticket.
+     *
+     * @param id The ID of the ticket.
+     */
+    public synchronized void remove(long id) {
+        TicketFlow previous = tickets.remove(id);
+        if (previous == null) {
+            return;
+        }
+        count(previous.createdAt().toLocalDate(), 0, -1);
+        if (previous.resolvedAt() != null) {
+            count(previous.resolvedAt().toLocalDate(), 1, -1);
+            Cell cell = cellOf(previous);
+            Histogram histogram = cycleTimes.get(cell);
+            Histogram single = new Histogram(SIGNIFICANT_DIGITS);
+            single.recordValue(cycleSeconds(previous));
+            histogram.subtract(single);
+            if (histogram.getTotalCount() == 0) {
+                cycleTimes.remove(cell);
+            }
+        }
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @return The tickets created and resolved on each day of the range; days without either are omitted.
+     */
+    public synchronized List<DailyFlow> dailyFlow(LocalDate from, LocalDate to) {
+        List<DailyFlow> flow = new ArrayList<>();
+        days.subMap(from, true, to, true)
+                .forEach((day, counts) -> flow.add(new DailyFlow(day, counts[0], counts[1])));
+        return flow;
+    }
+
+    /**
+     * Merges the cycle time histograms matching the filters into one per group.
+     *
+     * @param groupBy The dimension to group by.
+     * @param projectId Only this project, if not null.
+     * @param priority Only this priority, if not null.
+     * @param type Only this type, if not null.
+     * @return The percentiles of each group, ordered by project ID or enum order.
+     */
+    public synchronized List<CycleTimeStats> cycleTimes(CycleTimeGroup groupBy, Long projectId,
+                                                        TicketPriority priority, TicketType type) {
+        Map<Object, Histogram> groups = new TreeMap<>(GROUP_ORDER);
+        cycleTimes.forEach((cell, histogram) -> {
+            if ((projectId == null || projectId.equals(cell.projectId()))
+                    && (priority == null || priority == cell.priority())
+                    && (type == null || type == cell.type())) {
+                Object group = switch (groupBy) {
+                    case PROJECT -> cell.projectId();
+                    case PRIORITY -> cell.priority();
+                    case TYPE -> cell.type();
+                };
+                groups.computeIfAbsent(group, key -> new Histogram(SIGNIFICANT_DIGITS)).add(histogram);
+            }
+        });
+        List<CycleTimeStats> stats = new ArrayList<>(groups.size());
+        groups.forEach((group, histogram) -> stats.add(new CycleTimeStats(
+                group == null ? null : group.toString(), histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99))));
+        return stats;
+    }
+
+    private void add(TicketFlow ticket) {
+        if (ticket.createdAt() == null) {
+            return;
+        }
+        tickets.put(ticket.id(), ticket);
+        count(ticket.createdAt().toLocalDate(), 0, 1);
+        if (ticket.resolvedAt() != null) {
+            count(ticket.resolvedAt().toLocalDate(), 1, 1);
+            cycleTimes.computeIfAbsent(cellOf(ticket), cell -> new Histogram(SIGNIFICANT_DIGITS))
+                    .recordValue(cycleSeconds(ticket));
+        }
+    }
+
+    private void count(LocalDate day, int column, int delta) {
+        long[] counts = days.computeIfAbsent(day, key -> new long[2]);
+        counts[column] += delta;
+        if (counts[0] == 0 && counts[1] == 0) {
+            days.remove(day);
+        }
+    }
+
+    private static Cell cellOf(TicketFlow ticket) {
+        return new Cell(ticket.projectId(), ticket.priority(), ticket.type());
+    }
+
+    private static long cycleSeconds(TicketFlow ticket) {
+        return Math.max(0, Duration.between(ticket.createdAt(), ticket.resolvedAt()).getSeconds());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.ticket.repository;
+
+import com.example.ticket.entity.ArchiveEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchiveEpochRepository extends JpaRepository<ArchiveEpoch, Integer> {
+}
@@ -1,25 +1,141 @@
 package com.example.ticket.repository;
 
 
+import com.example.ticket.dto.ProjectProgressSummary;
+import com.example.ticket.dto.SlaCandidate;
+import com.example.ticket.dto.TicketFlow;
+import com.example.ticket.dto.TicketProgress;
 import com.example.ticket.entity.Ticket;
 import com.example.ticket.enums.TicketPriority;
 import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket> {
     List<Ticket> findByPriority(TicketPriority priority);
     List<Ticket> findByStatus(TicketStatus status);
 
+    List<Ticket> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT t.version FROM Ticket t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    List<Ticket> findByPriorityAndIdGreaterThanOrderByIdAsc(TicketPriority priority, long id, Limit limit);
+    List<Ticket> findByStatusAndIdGreaterThanOrderByIdAsc(TicketStatus status, long id, Limit limit);
+
 //    List<Ticket> findByCreatedByOrderByCreatedAtDesc(People createdBy);
 //    List<Ticket> findByResolvedByOrderByResolvedAtDesc(People resolvedBy);
 
 
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Ticket t ORDER BY t.id")
+    Stream<Ticket> streamAllOrderById();
+
+    /**
+     * Applies a change set to every ticket matching the filter in a single UPDATE statement.
+     * Null changes leave the column untouched and null filters match everything; moving
+     * tickets to DONE stamps resolvedAt like a single status update does. Every matched
+     * ticket gets a new version, as JPQL updates bypass {@code @Version}, so their ETags and
+     * pending optimistic writes see the change.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET " +
+            "t.status = COALESCE(:status, t.status), " +
+            "t.priority = COALESCE(:priority, t.priority), " +
+            "t.type = COALESCE(:type, t.type), " +
+            "t.progress = COALESCE(:progress, t.progress), " +
+            "t.peopleId = COALESCE(:assignee, t.peopleId), " +
+            "t.resolvedAt = CASE WHEN :resolve = true THEN :resolvedAt ELSE t.resolvedAt END, " +
+            "t.version = t.version + 1 " +
+            "WHERE (:anyId = true OR t.id IN :ids) " +
+            "AND (:projectId IS NULL OR t.projectId = :projectId) " +
+            "AND (:peopleId IS NULL OR t.peopleId = :peopleId) " +
+            "AND (:currentStatus IS NULL OR t.status = :currentStatus)")
+    int bulkUpdate(@Param("anyId") boolean anyId, @Param("ids") Collection<Long> ids,
+                   @Param("projectId") Long projectId, @Param("peopleId") Long peopleId,
+                   @Param("currentStatus") TicketStatus currentStatus,
+                   @Param("status") TicketStatus status, @Param("priority") TicketPriority priority,
+                   @Param("type") TicketType type, @Param("progress") Integer progress,
+                   @Param("assignee") Long assignee,
+                   @Param("resolve") boolean resolve, @Param("resolvedAt") LocalDateTime resolvedAt);
+
+    /**
+     * Finds the ids of the tickets a bulk update with the same filter, and no ids, would match.
+     */
+    @Query("SELECT t.id FROM Ticket t " +
+            "WHERE (:projectId IS NULL OR t.projectId = :projectId) " +
+            "AND (:peopleId IS NULL OR t.peopleId = :peopleId) " +
+            "AND (:currentStatus IS NULL OR t.status = :currentStatus)")
+    List<Long> findIdsForBulkUpdate(@Param("projectId") Long projectId, @Param("peopleId") Long peopleId,
+                                    @Param("currentStatus") TicketStatus currentStatus);
+
     @Query("SELECT t.projectId, COUNT(t.id) FROM Ticket t GROUP BY t.projectId")
     List<Object[]> findTicketCountByProject();
+
+    /**
+     * Aggregates, per project, the total estimate, the total progress and the id of the ticket
+     * with the highest progress (lowest id on ties) in a single grouped query.
+     */
+    @Query("SELECT new com.example.ticket.dto.ProjectProgressSummary(t.projectId, SUM(t.estimate), SUM(t.progress), " +
+            "(SELECT MIN(t2.id) FROM Ticket t2 WHERE t2.projectId = t.projectId AND t2.progress = " +
+            "(SELECT MAX(t3.progress) FROM Ticket t3 WHERE t3.projectId = t.projectId))) " +
+            "FROM Ticket t WHERE t.projectId IS NOT NULL GROUP BY t.projectId")
+    List<ProjectProgressSummary> findProgressSummaryByProject();
+
+    @Query("SELECT new com.example.ticket.dto.TicketProgress(t.id, t.projectId, t.estimate, t.progress) " +
+            "FROM Ticket t WHERE t.projectId IS NOT NULL")
+    List<TicketProgress> findAllProgress();
+
+    @Query("SELECT new com.example.ticket.dto.TicketFlow(t.id, t.projectId, t.priority, t.type, t.status, " +
+            "t.createdAt, t.resolvedAt) FROM Ticket t")
+    List<TicketFlow> findAllFlows();
+
+    @Query("SELECT new com.example.ticket.dto.TicketFlow(t.id, t.projectId, t.priority, t.type, t.status, " +
+            "t.createdAt, t.resolvedAt) FROM Ticket t WHERE t.id IN :ids")
+    List<TicketFlow> findFlowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the tickets in the given statuses and priority created before a date. Served by
+     * the (status, priority, created_At) index, so only the matching rows are read.
+     */
+    @Query("SELECT new com.example.ticket.dto.SlaCandidate(t.id, t.projectId, t.priority, t.status, t.createdAt) " +
+            "FROM Ticket t WHERE t.status IN :statuses AND t.priority = :priority AND t.createdAt <= :createdBefore")
+    List<SlaCandidate> findSlaCandidates(@Param("statuses") Collection<TicketStatus> statuses,
+                                         @Param("priority") TicketPriority priority,
+                                         @Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * Finds the tickets in the given statuses resolved before a date. Tickets closed without
+     * a resolution date are aged from their creation date.
+     */
+    @Query("SELECT t FROM Ticket t WHERE t.status IN :statuses AND COALESCE(t.resolvedAt, t.createdAt) < :before ORDER BY t.id")
+    List<Ticket> findArchivable(@Param("statuses") Collection<TicketStatus> statuses,
+                                @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Deletes a ticket being archived, unless it was changed or reopened since it was read.
+     *
+     * @return 1 if the ticket was deleted, 0 if it no longer matches.
+     */
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.id = :id AND t.version = :version AND t.status IN :statuses")
+    int deleteArchivable(@Param("id") Long id, @Param("version") long version,
+                         @Param("statuses") Collection<TicketStatus> statuses);
 }
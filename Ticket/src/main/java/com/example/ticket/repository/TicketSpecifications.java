@@ -0,0 +1,53 @@
+package com.example.ticket.repository;
+
+
+import com.example.ticket.dto.TicketSearchCriteria;
+import com.example.ticket.entity.Ticket;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds ticket search predicates. Equality filters come first so they line up
+ * with the leading columns of the indexes declared on {@link Ticket}.
+ */
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+    }
+
+    /**
+     * Creates a specification matching every non-null field of the criteria.
+     * @param criteria The search criteria.
+     * @return The combined specification.
+     */
+    public static Specification<Ticket> matching(TicketSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.projectId() != null) {
+                predicates.add(cb.equal(root.get("projectId"), criteria.projectId()));
+            }
+            if (criteria.peopleId() != null) {
+                predicates.add(cb.equal(root.get("peopleId"), criteria.peopleId()));
+            }
+            if (criteria.status() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.status()));
+            }
+            if (criteria.priority() != null) {
+                predicates.add(cb.equal(root.get("priority"), criteria.priority()));
+            }
+            if (criteria.type() != null) {
+                predicates.add(cb.equal(root.get("type"), criteria.type()));
+            }
+            if (criteria.createdFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.createdFrom()));
+            }
+            if (criteria.createdTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), criteria.createdTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
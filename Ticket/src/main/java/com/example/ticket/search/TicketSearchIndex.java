@@ -0,0 +1,223 @@
+package com.example.ticket.search;
+
+import com.example.ticket.dto.TicketSearchHit;
+import com.example.ticket.entity.Ticket;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over ticket titles and descriptions, ranked with BM25.
+ * Title terms count twice, so a match in the title outranks the same match in the
+ * description. The last query term also matches as a prefix, which keeps
+ * search-as-you-type useful before a word is complete.
+ */
+@Component
+public class TicketSearchIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    private record Document(String title, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    /**
+     * Replaces the whole index with the given tickets.
+     *
+     * @param tickets The tickets to index.
+     */
+    public void rebuild(Iterator<Ticket> tickets) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            while (tickets.hasNext()) {
+                add(tickets.next());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a ticket to the index, replacing any previous version of it.
+     *
+     * @param ticket The ticket to index.
+     */
+    public void index(Ticket ticket) {
+        lock.writeLock().lock();
+        try {
+            remove(ticket.getId());
+            add(ticket);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a ticket from the index.
+     *
+     * @param id The ID of the ticket to remove.
+     */
+    public void delete(long id) {
+        lock.writeLock().lock();
+        try {
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns the best matches first.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of hits to return.
+     * @return The matching tickets ordered by descending score.
+     */
+    public List<TicketSearchHit> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            int documentCount = documents.size();
+            double averageLength = (double) totalLength / documentCount;
+            Map<Long, Double> scores = new HashMap<>();
+            Set<String> queryTerms = new LinkedHashSet<>(terms);
+            String last = terms.get(terms.size() - 1);
+            for (String term : queryTerms) {
+                if (term.equals(last)) {
+                    for (String expanded : expand(term)) {
+                        score(expanded, documentCount, averageLength, scores);
+                    }
+                } else {
+                    score(term, documentCount, averageLength, scores);
+                }
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of indexed tickets.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void add(Ticket ticket) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(ticket.getTitle())) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : tokenize(ticket.getDescription())) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(ticket.getId(), entry.getValue());
+        }
+        documents.put(ticket.getId(), new Document(ticket.getTitle(), frequencies, length));
+        totalLength += length;
+    }
+
+    private void remove(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.termFrequencies().keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    private Collection<String> expand(String prefix) {
+        List<String> expanded = new ArrayList<>();
+        for (String term : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+            expanded.add(term);
+            if (expanded.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return expanded;
+    }
+
+    private void score(String term, int documentCount, double averageLength, Map<Long, Double> scores) {
+        Map<Long, Integer> list = postings.get(term);
+        if (list == null) {
+            return;
+        }
+        double idf = Math.log(1 + (documentCount - list.size() + 0.5) / (list.size() + 0.5));
+        for (Map.Entry<Long, Integer> posting : list.entrySet()) {
+            int tf = posting.getValue();
+            int length = documents.get(posting.getKey()).length();
+            double norm = tf + K1 * (1 - B + B * length / averageLength);
+            scores.merge(posting.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+        }
+    }
+
+    private List<TicketSearchHit> topHits(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(byScore);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<TicketSearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Long, Double> entry = top.poll();
+            hits.add(new TicketSearchHit(entry.getKey(), documents.get(entry.getKey()).title(), entry.getValue()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+}
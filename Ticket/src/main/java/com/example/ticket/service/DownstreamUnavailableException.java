@@ -0,0 +1,12 @@
+package com.example.ticket.service;
+
+/**
+ * Thrown when the PROJECT or PEOPLE service cannot answer within the downstream deadline,
+ * either because the call took too long or because no thread was free to make it.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    public DownstreamUnavailableException(String message) {
+        super(message);
+    }
+}
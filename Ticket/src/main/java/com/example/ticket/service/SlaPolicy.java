@@ -0,0 +1,88 @@
+package com.example.ticket.service;
+
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How long an open ticket of each priority may stay open. A ticket is at risk once it
+ * has used the configured share of its SLA, and breached once the whole SLA has passed.
+ */
+@Component
+public class SlaPolicy {
+
+    /** The statuses the SLA clock runs in. */
+    public static final Set<TicketStatus> OPEN_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(TicketStatus.NEW, TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS));
+
+    private final Map<TicketPriority, Duration> targets = new EnumMap<>(TicketPriority.class);
+    private final double atRiskRatio;
+
+    public SlaPolicy(@Value("${ticket.sla.high:P2D}") Duration high,
+                     @Value("${ticket.sla.medium:P3D}") Duration medium,
+                     @Value("${ticket.sla.normal:P5D}") Duration normal,
+                     @Value("${ticket.sla.low:P10D}") Duration low,
+                     @Value("${ticket.sla.at-risk-ratio:0.8}") double atRiskRatio) {
+        if (atRiskRatio <= 0 || atRiskRatio > 1) {
+            throw new IllegalArgumentException("The at-risk ratio must be greater than 0 and at most 1");
+        }
+        targets.put(TicketPriority.HIGH, high);
+        targets.put(TicketPriority.MEDIUM, medium);
+        targets.put(TicketPriority.NORMAL, normal);
+        targets.put(TicketPriority.LOW, low);
+        targets.forEach((priority, target) -> {
+            if (target == null || target.isNegative() || target.isZero()) {
+                throw new IllegalArgumentException("The SLA of " + priority + " tickets must be positive");
+            }
+        });
+        this.atRiskRatio = atRiskRatio;
+    }
+
+    public Map<TicketPriority, Duration> targets() {
+        return Collections.unmodifiableMap(targets);
+    }
+
+    public boolean isOpen(TicketStatus status) {
+        return OPEN_STATUSES.contains(status);
+    }
+
+    /**
+     * @param priority The priority of the ticket.
+     * @param createdAt When the ticket was created.
+     * @return When the ticket breaches its SLA.
+     */
+    public LocalDateTime dueAt(TicketPriority priority, LocalDateTime createdAt) {
+        return createdAt.plus(targets.get(priority));
+    }
+
+    /**
+     * @param priority The priority of the ticket.
+     * @param createdAt When the ticket was created.
+     * @return When the ticket becomes at risk of breaching its SLA.
+     */
+    public LocalDateTime atRiskAt(TicketPriority priority, LocalDateTime createdAt) {
+        return createdAt.plus(atRiskPeriod(priority));
+    }
+
+    /**
+     * @param priority The priority of the tickets.
+     * @param at A point in time.
+     * @return The creation date before which open tickets of the priority are at risk at that time.
+     */
+    public LocalDateTime atRiskCreatedBefore(TicketPriority priority, LocalDateTime at) {
+        return at.minus(atRiskPeriod(priority));
+    }
+
+    private Duration atRiskPeriod(TicketPriority priority) {
+        return Duration.ofMillis((long) (targets.get(priority).toMillis() * atRiskRatio));
+    }
+}
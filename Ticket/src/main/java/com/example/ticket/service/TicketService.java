@@ -1,27 +1,80 @@
 package com.example.ticket.service;
 
 
+import com.example.ticket.archive.TicketArchive;
+import com.example.ticket.cache.ReferenceDataCache;
+import com.example.ticket.cache.ReferenceIdReplica;
+import com.example.ticket.dto.CacheStatistics;
+import com.example.ticket.dto.CursorPage;
+import com.example.ticket.dto.CycleTimeStats;
+import com.example.ticket.dto.DailyFlow;
 import com.example.ticket.dto.People;
 import com.example.ticket.dto.Project;
+import com.example.ticket.dto.ProjectProgressSummary;
 import com.example.ticket.dto.ProjectTicketProgress;
+import com.example.ticket.dto.SlaBreach;
+import com.example.ticket.dto.SlaCandidate;
+import com.example.ticket.dto.TicketBatchResult;
+import com.example.ticket.dto.TicketChangeSet;
 import com.example.ticket.dto.TicketDTO;
+import com.example.ticket.dto.TicketFilter;
+import com.example.ticket.dto.TicketFlow;
+import com.example.ticket.dto.TicketSearchCriteria;
+import com.example.ticket.dto.TicketProgress;
+import com.example.ticket.dto.TicketSearchHit;
 import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.CycleTimeGroup;
 import com.example.ticket.enums.TicketPriority;
 import com.example.ticket.enums.TicketStatus;
 import com.example.ticket.enums.TicketType;
+import com.example.ticket.readmodel.ProjectProgressRollups;
+import com.example.ticket.readmodel.ProjectTicketCounts;
+import com.example.ticket.readmodel.SlaBreachQueue;
+import com.example.ticket.readmodel.TicketFlowStats;
 import com.example.ticket.repository.TicketRepository;
+import com.example.ticket.repository.TicketSpecifications;
+import com.example.ticket.search.TicketSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 /**
@@ -29,6 +82,11 @@ import java.util.*;
  */
 @Service
 public class TicketService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketService.class);
+
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final Set<TicketStatus> ARCHIVED_STATUSES = EnumSet.of(TicketStatus.DONE, TicketStatus.ABORTED);
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "createdAt", "resolvedAt", "priority", "status", "progress", "estimate");
 
     @Autowired
     private TicketRepository ticketRepository;
@@ -36,6 +94,58 @@ public class TicketService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private Executor downstreamExecutor;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private ReferenceIdReplica referenceIdReplica;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketSearchIndex ticketSearchIndex;
+
+    @Autowired
+    private ProjectTicketCounts projectTicketCounts;
+
+    @Autowired
+    private ProjectProgressRollups projectProgressRollups;
+
+    @Autowired
+    private TicketFlowStats ticketFlowStats;
+
+    @Autowired
+    private SlaBreachQueue slaBreachQueue;
+
+    @Autowired
+    private SlaPolicy slaPolicy;
+
+    @Autowired
+    private TicketArchive ticketArchive;
+
+    @Autowired
+    private ChangeCounter changeCounter;
+
+    /** For writes that validate against other services first, so the transaction spans only the database work. */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ticket.downstream.deadline-ms:2000}")
+    private long downstreamDeadlineMs;
+
+    @Value("${ticket.sla.scan-interval-ms:60000}")
+    private long slaScanIntervalMs;
+
+    @Value("${ticket.archive.after-days:90}")
+    private int archiveAfterDays;
+
 
     /**
      * Retrieves all tickets.
@@ -57,6 +167,48 @@ public class TicketService {
         }
     }
 
+    /**
+     * Retrieves a page of tickets ordered by ID, starting after the given cursor.
+     *
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The maximum number of tickets to return.
+     * @return The page of tickets.
+     */
+    public CursorPage<Ticket> getTicketsPage(String cursor, int size) {
+        CursorPage.validateSize(size);
+        List<Ticket> tickets = ticketRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        return CursorPage.of(tickets, size, Ticket::getId);
+    }
+
+    /**
+     * Writes every ticket as newline-delimited JSON, streaming rows from the
+     * database and detaching each entity once written so memory stays flat.
+     *
+     * @param outputStream The stream to write to.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportTickets(OutputStream outputStream) throws IOException {
+        ObjectWriter ticketWriter = objectMapper.writerFor(Ticket.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Ticket> tickets = ticketRepository.streamAllOrderById();
+             SequenceWriter writer = ticketWriter.withRootValueSeparator("\n").writeValues(outputStream)) {
+            Iterator<Ticket> iterator = tickets.iterator();
+            boolean empty = true;
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                writer.write(ticket);
+                entityManager.detach(ticket);
+                empty = false;
+            }
+            writer.flush();
+            if (!empty) {
+                outputStream.write('\n');
+            }
+        }
+    }
+
     /**
      * Retrieves a ticket by ID.
      *
@@ -65,29 +217,63 @@ public class TicketService {
      */
 
     public ResponseEntity<?> getTicketById(Long id) {
-        Optional<Ticket> ticketOptional = ticketRepository.findById(id);
+        Optional<Ticket> ticketOptional = ticketRepository.findById(id).or(() -> ticketArchive.find(id));
         if (ticketOptional.isPresent()) {
             Ticket ticket = ticketOptional.get();
-            Project project = restTemplate.getForObject("http://PROJECT/projects/" + ticket.getProjectId(), Project.class);
-            People people = restTemplate.getForObject("http://PEOPLE/people/" + ticket.getPeopleId(), People.class);
-            TicketDTO ticketDTO = new TicketDTO(
-                    ticket.getId(),
-                    ticket.getTitle(),
-                    ticket.getDescription(),
-                    ticket.getStatus(),
-                    ticket.getType(),
-                    ticket.getPriority(),
-                    ticket.getProgress(),
-                    ticket.getEstimate(),
-                    project,
-                    people
-            );
+            CompletableFuture<Project> projectFuture = callDownstream(() ->
+                    referenceDataCache.getProject(ticket.getProjectId(), projectId ->
+                            restTemplate.getForObject("http://PROJECT/projects/" + projectId, Project.class)));
+            CompletableFuture<People> peopleFuture = callDownstream(() ->
+                    referenceDataCache.getPeople(ticket.getPeopleId(), peopleId ->
+                            restTemplate.getForObject("http://PEOPLE/people/" + peopleId, People.class)));
+            awaitDownstream(projectFuture, peopleFuture);
+            TicketDTO ticketDTO = toTicketDTO(ticket, projectFuture.join(), peopleFuture.join());
             return new ResponseEntity<>(ticketDTO, HttpStatus.OK);
         } else {
             return new ResponseEntity<>("No ticket found", HttpStatus.NOT_FOUND);
         }
     }
 
+    /**
+     * Retrieves all tickets enriched with their project and assigned person.
+     * The distinct project and people IDs are resolved with one bulk call per
+     * downstream service instead of two calls per ticket.
+     *
+     * @return List of all tickets with project and people details.
+     */
+    public List<TicketDTO> getAllTicketsEnriched() {
+        List<Ticket> tickets = getAllTickets();
+
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> peopleIds = new HashSet<>();
+        for (Ticket ticket : tickets) {
+            if (ticket.getProjectId() != null) {
+                projectIds.add(ticket.getProjectId());
+            }
+            if (ticket.getPeopleId() != null) {
+                peopleIds.add(ticket.getPeopleId());
+            }
+        }
+
+        Map<Long, Project> projects = getProjectsByIds(projectIds);
+        Map<Long, People> people = getPeopleByIds(peopleIds);
+
+        List<TicketDTO> ticketDTOS = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            ticketDTOS.add(toTicketDTO(ticket, projects.get(ticket.getProjectId()), people.get(ticket.getPeopleId())));
+        }
+        return ticketDTOS;
+    }
+
+    /**
+     * Retrieves the current version of a ticket without loading it, unless it is archived.
+     * @param id The ID of the ticket.
+     * @return The version, or empty if the ticket does not exist.
+     */
+    public Optional<Long> getTicketVersion(Long id){
+        return ticketRepository.findVersionById(id).or(() -> ticketArchive.find(id).map(Ticket::getVersion));
+    }
+
     /**
      * Creates a new ticket.
      * @param ticket The ticket to be created.
@@ -102,16 +288,121 @@ public class TicketService {
         if (StringUtils.isEmpty(ticket.getDescription())){
             throw new IllegalArgumentException("Ticket description cannot be null or empty");
         }
-        Project project = getProjectById(ticket.getProjectId());
-        People assignedTo = getAssignedPersonById(ticket.getPeopleId());
+        awaitDownstream(checkProjectExists(ticket.getProjectId()), checkPeopleExists(ticket.getPeopleId()));
 
-        ticket.setProject(project);
-        ticket.setAssignedTo(assignedTo);
+        Ticket savedTicket = ticketRepository.save(ticket);
+        afterCommit(() -> {
+            ticketSearchIndex.index(savedTicket);
+            projectTicketCounts.increment(savedTicket.getProjectId());
+            projectProgressRollups.apply(TicketProgress.of(savedTicket));
+            ticketFlowStats.apply(TicketFlow.of(savedTicket));
+        });
+        return savedTicket;
+    }
+
+    /**
+     * Creates several tickets at once. The distinct project and people IDs of the batch
+     * are validated with one call per downstream service, and the valid tickets are
+     * persisted in a single transaction using JDBC insert batching. The transaction only
+     * starts once the downstream calls are done, so no connection waits on them.
+     *
+     * @param tickets The tickets to be created.
+     * @return The result of each ticket, in the order received.
+     */
+    public List<TicketBatchResult> createTickets(List<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty()) {
+            throw new IllegalArgumentException("Tickets cannot be null or empty");
+        }
+        if (tickets.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " tickets");
+        }
 
-        return ticketRepository.save(ticket);
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> peopleIds = new HashSet<>();
+        for (Ticket ticket : tickets) {
+            if (ticket != null) {
+                if (ticket.getProjectId() != null) {
+                    projectIds.add(ticket.getProjectId());
+                }
+                if (ticket.getPeopleId() != null) {
+                    peopleIds.add(ticket.getPeopleId());
+                }
+            }
+        }
+        Set<Long> existingProjects = new HashSet<>();
+        Set<Long> existingPeople = new HashSet<>();
+        projectIds.removeIf(id -> referenceIdReplica.containsProject(id) && existingProjects.add(id));
+        peopleIds.removeIf(id -> referenceIdReplica.containsPeople(id) && existingPeople.add(id));
+        existingProjects.addAll(getProjectsByIds(projectIds).keySet());
+        existingPeople.addAll(getPeopleByIds(peopleIds).keySet());
+
+        TicketBatchResult[] results = new TicketBatchResult[tickets.size()];
+        List<Ticket> validTickets = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < tickets.size(); i++) {
+            String error = validateBatchTicket(tickets.get(i), existingProjects, existingPeople);
+            if (error != null) {
+                results[i] = TicketBatchResult.failed(i, error);
+            } else {
+                validTickets.add(tickets.get(i));
+                validIndexes.add(i);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Ticket> savedTickets = ticketRepository.saveAll(validTickets);
+            for (int i = 0; i < savedTickets.size(); i++) {
+                results[validIndexes.get(i)] = TicketBatchResult.created(validIndexes.get(i), savedTickets.get(i).getId());
+            }
+            afterCommit(() -> savedTickets.forEach(savedTicket -> {
+                ticketSearchIndex.index(savedTicket);
+                projectTicketCounts.increment(savedTicket.getProjectId());
+                projectProgressRollups.apply(TicketProgress.of(savedTicket));
+                ticketFlowStats.apply(TicketFlow.of(savedTicket));
+            }));
+        });
+        return Arrays.asList(results);
     }
 
+    private String validateBatchTicket(Ticket ticket, Set<Long> existingProjects, Set<Long> existingPeople) {
+        if (ticket == null || !StringUtils.hasText(ticket.getTitle())) {
+            return "Ticket object cannot be null or empty";
+        }
+        if (!StringUtils.hasText(ticket.getDescription())) {
+            return "Ticket description cannot be null or empty";
+        }
+        if (ticket.getProjectId() == null || !existingProjects.contains(ticket.getProjectId())) {
+            return "Project with id: " + ticket.getProjectId() + " not found";
+        }
+        if (ticket.getPeopleId() == null || !existingPeople.contains(ticket.getPeopleId())) {
+            return "People with id: " + ticket.getPeopleId() + " not found";
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves a project, served from the reference data cache when possible.
+     *
+     * @param id The ID of the project.
+     * @return The project.
+     * @throws EntityNotFoundException If the project is not found.
+     */
     public Project getProjectById(Long id){
+        return referenceDataCache.getProject(id, this::fetchProjectById);
+    }
+
+    /**
+     * Retrieves a person, served from the reference data cache when possible.
+     *
+     * @param id The ID of the person.
+     * @return The person.
+     * @throws EntityNotFoundException If the person is not found.
+     */
+    public People getAssignedPersonById(Long id){
+        return referenceDataCache.getPeople(id, this::fetchAssignedPersonById);
+    }
+
+    private Project fetchProjectById(Long id){
         ResponseEntity<Project> response = restTemplate.exchange("http://localhost:9092/projects/" + id,
                 HttpMethod.GET, null, Project.class);
         if (response.getStatusCode() == HttpStatus.OK){
@@ -121,7 +412,7 @@ public class TicketService {
         }
     }
 
-    public People getAssignedPersonById(Long id){
+    private People fetchAssignedPersonById(Long id){
         ResponseEntity<People> response = restTemplate.exchange("http://localhost:9094/people/" + id,
                 HttpMethod.GET, null, People.class);
         if (response.getStatusCode() == HttpStatus.OK){
@@ -131,14 +422,187 @@ public class TicketService {
         }
     }
 
+    /**
+     * Retrieves the hit, miss and eviction counters of the reference data cache.
+     *
+     * @return Cache statistics keyed by cache name.
+     */
+    public Map<String, CacheStatistics> getReferenceCacheStatistics() {
+        return referenceDataCache.getStatistics();
+    }
+
+    /**
+     * Retrieves several projects in a single call to the project service.
+     *
+     * @param ids The IDs of the projects to retrieve.
+     * @return Map of project ID to project.
+     */
+    public Map<Long, Project> getProjectsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ResponseEntity<Project[]> response = restTemplate.getForEntity("http://localhost:9092/projects/batch?ids="
+                + StringUtils.collectionToCommaDelimitedString(ids), Project[].class);
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            throw new RuntimeException("Failed to get projects. Status code: " + response.getStatusCode());
+        }
+        Map<Long, Project> projects = new HashMap<>();
+        for (Project project : response.getBody()) {
+            projects.put(project.getId(), project);
+        }
+        return projects;
+    }
+
+    /**
+     * Retrieves several people in a single call to the people service.
+     *
+     * @param ids The IDs of the people to retrieve.
+     * @return Map of person ID to person.
+     */
+    public Map<Long, People> getPeopleByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ResponseEntity<People[]> response = restTemplate.getForEntity("http://localhost:9094/people/batch?ids="
+                + StringUtils.collectionToCommaDelimitedString(ids), People[].class);
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            throw new RuntimeException("Failed to get people. Status code: " + response.getStatusCode());
+        }
+        Map<Long, People> people = new HashMap<>();
+        for (People person : response.getBody()) {
+            people.put(person.getId(), person);
+        }
+        return people;
+    }
+
+    /**
+     * Checks that a project exists, in memory when the replicated ids know it and
+     * otherwise through the PROJECT service.
+     *
+     * @param id The ID of the project.
+     * @return A future completing once the project is known to exist.
+     */
+    private CompletableFuture<?> checkProjectExists(Long id) {
+        if (referenceIdReplica.containsProject(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return callDownstream(() -> getProjectById(id));
+    }
+
+    /**
+     * Checks that a person exists, in memory when the replicated ids know them and
+     * otherwise through the PEOPLE service.
+     *
+     * @param id The ID of the person.
+     * @return A future completing once the person is known to exist.
+     */
+    private CompletableFuture<?> checkPeopleExists(Long id) {
+        if (referenceIdReplica.containsPeople(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return callDownstream(() -> getAssignedPersonById(id));
+    }
+
+    /**
+     * Starts a downstream call on the downstream executor. A saturated executor rejects
+     * the call rather than running it on the request thread, where the deadline could
+     * not stop it.
+     *
+     * @param call The call to make.
+     * @return A future completing with the result of the call.
+     * @throws DownstreamUnavailableException If the executor has no room for the call.
+     */
+    private <T> CompletableFuture<T> callDownstream(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, downstreamExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new DownstreamUnavailableException("Too many downstream calls in flight, retry later");
+        }
+    }
+
+    /**
+     * Waits for concurrent downstream calls, bounded by the configured deadline.
+     *
+     * @param futures The pending downstream calls.
+     * @throws DownstreamUnavailableException If the deadline is exceeded.
+     * @throws RuntimeException If a call fails.
+     */
+    private void awaitDownstream(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get(downstreamDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            for (CompletableFuture<?> future : futures) {
+                future.cancel(true);
+            }
+            throw new DownstreamUnavailableException("Downstream services did not respond within " + downstreamDeadlineMs + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for downstream services", e);
+        }
+    }
+
+    /**
+     * Stamps the resolution date of a ticket that is about to move into DONE.
+     *
+     * @param ticket The ticket, still holding its current status.
+     * @param newStatus The status the ticket moves to.
+     */
+    private static void stampResolution(Ticket ticket, TicketStatus newStatus) {
+        if (ticket.getStatus() != TicketStatus.DONE && newStatus == TicketStatus.DONE) {
+            ticket.setResolvedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Runs an action once the surrounding transaction commits, or immediately when
+     * there is none, so in-memory structures never see rolled back writes.
+     *
+     * @param action The action to run.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private TicketDTO toTicketDTO(Ticket ticket, Project project, People people) {
+        return new TicketDTO(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                ticket.getType(),
+                ticket.getPriority(),
+                ticket.getProgress(),
+                ticket.getEstimate(),
+                project,
+                people
+        );
+    }
+
     /**
      * Updates an existing ticket.
      *
      * @param updateTicket The ticket with updated data.
+     * @param expectedVersion The version the update is conditional on, or null.
      * @return The updated ticket.
      * @throws EntityNotFoundException If the ticket with the given ID is not found.
+     * @throws ObjectOptimisticLockingFailureException If the ticket is not at the expected version.
      */
-    public Ticket updateTicket(Ticket updateTicket) {
+    @Transactional
+    public Ticket updateTicket(Ticket updateTicket, Long expectedVersion) {
         if (updateTicket == null) {
             throw new IllegalArgumentException("Update ticket cannot be null");
         }
@@ -147,6 +611,8 @@ public class TicketService {
             throw new EntityNotFoundException("Ticket with id: " + updateTicket.getId() + " not found");
         }
         Ticket ticketToUpdate = existingTicket.get();
+        checkVersion(ticketToUpdate, expectedVersion);
+        stampResolution(ticketToUpdate, updateTicket.getStatus());
         ticketToUpdate.setTitle(updateTicket.getTitle());
         ticketToUpdate.setDescription(updateTicket.getDescription());
         ticketToUpdate.setStatus(updateTicket.getStatus());
@@ -154,11 +620,100 @@ public class TicketService {
         ticketToUpdate.setProgress(updateTicket.getProgress());
         ticketToUpdate.setEstimate(updateTicket.getEstimate());
 
-        return ticketRepository.save(ticketToUpdate);
+        Ticket savedTicket = ticketRepository.save(ticketToUpdate);
+        afterCommit(() -> {
+            ticketSearchIndex.index(savedTicket);
+            projectProgressRollups.apply(TicketProgress.of(savedTicket));
+            ticketFlowStats.apply(TicketFlow.of(savedTicket));
+            slaBreachQueue.apply(SlaCandidate.of(savedTicket));
+        });
+        return savedTicket;
+    }
+
+    /**
+     * Applies a JSON merge patch to a ticket, writing only the supplied fields.
+     * If the patch carries a version, it must match the stored one, and a project or
+     * assignee it sets must exist, as when creating or assigning a ticket. Those are checked
+     * before the ticket is loaded, so the transaction does not wait on other services.
+     * @param id The ID of the ticket to patch.
+     * @param patch The JSON merge patch document.
+     * @param expectedVersion The version the patch is conditional on, or null.
+     * @return The patched ticket.
+     * @throws EntityNotFoundException If the ticket, or the project or assignee set, is not found.
+     * @throws ObjectOptimisticLockingFailureException If the ticket is not at the expected version.
+     */
+    public Ticket patchTicket(Long id, JsonNode patch, Long expectedVersion){
+        if (patch == null || !patch.isObject()){
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        ObjectNode changes = ((ObjectNode) patch).deepCopy();
+        changes.remove(List.of("id", "version", "createdAt"));
+        Long projectId = patchedId(changes, "projectId");
+        Long peopleId = patchedId(changes, "peopleId");
+        awaitDownstream(projectId == null ? CompletableFuture.completedFuture(null) : checkProjectExists(projectId),
+                peopleId == null ? CompletableFuture.completedFuture(null) : checkPeopleExists(peopleId));
+
+        return transactionTemplate.execute(status -> {
+            Ticket ticket = ticketRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Ticket with id: " + id + " not found"));
+
+            JsonNode patchedVersion = patch.get("version");
+            if (patchedVersion != null && !patchedVersion.isNull() && patchedVersion.asLong() != ticket.getVersion()){
+                throw new ObjectOptimisticLockingFailureException(Ticket.class, id);
+            }
+            checkVersion(ticket, expectedVersion);
+
+            Long previousProjectId = ticket.getProjectId();
+            TicketStatus previousStatus = ticket.getStatus();
+            try {
+                objectMapper.readerForUpdating(ticket).readValue(changes);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid patch: " + e.getMessage());
+            }
+            if (previousStatus != TicketStatus.DONE && ticket.getStatus() == TicketStatus.DONE && !changes.has("resolvedAt")) {
+                ticket.setResolvedAt(LocalDateTime.now());
+            }
+            Ticket savedTicket = ticketRepository.saveAndFlush(ticket);
+            afterCommit(() -> {
+                ticketSearchIndex.index(savedTicket);
+                projectTicketCounts.move(previousProjectId, savedTicket.getProjectId());
+                projectProgressRollups.apply(TicketProgress.of(savedTicket));
+                ticketFlowStats.apply(TicketFlow.of(savedTicket));
+                slaBreachQueue.apply(SlaCandidate.of(savedTicket));
+            });
+            return savedTicket;
+        });
+    }
+
+    /**
+     * Fails a conditional write if the ticket, as loaded by its transaction, has moved on;
+     * the versioned UPDATE then catches any write committed after the load.
+     */
+    private static void checkVersion(Ticket ticket, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != ticket.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Ticket.class, ticket.getId());
+        }
+    }
+
+    /**
+     * @param changes The merge patch.
+     * @param field The name of an id field.
+     * @return The id the patch sets, or null if it leaves or clears the field.
+     */
+    private Long patchedId(ObjectNode changes, String field) {
+        JsonNode value = changes.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(value, Long.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage());
+        }
     }
 
     /**
-     * Deletes a ticket by ID.
+     * Deletes a ticket by ID, along with its archived copy.
      *
      * @param id The ID of the ticket to delete.
      */
@@ -166,7 +721,16 @@ public class TicketService {
         if (id == null || id == 0) {
             throw new IllegalArgumentException("Id cannot be null!");
         }
+        Optional<Long> projectId = ticketRepository.findById(id).map(Ticket::getProjectId);
         ticketRepository.deleteById(id);
+        afterCommit(() -> {
+            ticketSearchIndex.delete(id);
+            projectId.ifPresent(projectTicketCounts::decrement);
+            projectProgressRollups.remove(id);
+            ticketFlowStats.remove(id);
+            slaBreachQueue.remove(id);
+            ticketArchive.delete(id);
+        });
     }
 
     /**
@@ -188,6 +752,10 @@ public class TicketService {
             Ticket ticket = optionalTicket.get();
             ticket.setPriority(priority);
             ticketRepository.save(ticket);
+            afterCommit(() -> {
+                ticketFlowStats.apply(TicketFlow.of(ticket));
+                slaBreachQueue.apply(SlaCandidate.of(ticket));
+            });
             return true;
         } else {
             return false;
@@ -221,6 +789,10 @@ public class TicketService {
                 ticket.setStatus(status);
                 ticketRepository.save(ticket);
             }
+            afterCommit(() -> {
+                ticketFlowStats.apply(TicketFlow.of(ticket));
+                slaBreachQueue.apply(SlaCandidate.of(ticket));
+            });
             return true;
         } else {
             return false;
@@ -246,12 +818,73 @@ public class TicketService {
             Ticket ticket = optionalTicket.get();
             ticket.setType(type);
             ticketRepository.save(ticket);
+            afterCommit(() -> ticketFlowStats.apply(TicketFlow.of(ticket)));
             return true;
         } else {
             return false;
         }
     }
 
+    /**
+     * Applies a change set to every ticket matching a filter with a single UPDATE statement.
+     * Moving tickets to DONE stamps their resolution date, as {@link #updateStatus} does.
+     * When the flow analytics are affected, the matching ids are read first and only their
+     * flows are applied once the update commits. A new assignee is checked before the
+     * update's transaction starts.
+     *
+     * @param filter  The tickets to update (IDs, project, person and/or current status).
+     * @param changes The new values; null fields are left unchanged.
+     * @return The number of tickets updated.
+     */
+    public int bulkUpdate(TicketFilter filter, TicketChangeSet changes) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("Bulk update filter cannot be null or empty");
+        }
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("Bulk update changes cannot be null or empty");
+        }
+        if (changes.progress() != null && changes.progress() < 0) {
+            throw new IllegalArgumentException("Progress must be a positive number");
+        }
+        if (changes.peopleId() != null) {
+            awaitDownstream(checkPeopleExists(changes.peopleId()));
+        }
+        return transactionTemplate.execute(status -> applyBulkUpdate(filter, changes));
+    }
+
+    private int applyBulkUpdate(TicketFilter filter, TicketChangeSet changes) {
+        boolean anyId = filter.ids() == null || filter.ids().isEmpty();
+        boolean flowChanged = changes.status() != null || changes.priority() != null || changes.type() != null;
+        List<Long> ids = anyId ? Collections.emptyList() : filter.ids();
+        if (anyId && flowChanged) {
+            // pins the update to the tickets whose flows are read back below
+            ids = ticketRepository.findIdsForBulkUpdate(filter.projectId(), filter.peopleId(), filter.status());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            anyId = false;
+        }
+        int updated = ticketRepository.bulkUpdate(anyId, ids,
+                filter.projectId(), filter.peopleId(), filter.status(),
+                changes.status(), changes.priority(), changes.type(), changes.progress(), changes.peopleId(),
+                changes.status() == TicketStatus.DONE, LocalDateTime.now());
+        if (updated > 0) {
+            // bulk JPQL updates skip the entity listeners
+            changeCounter.markChanged();
+        }
+        if (updated > 0 && changes.progress() != null) {
+            afterCommit(this::rebuildProgressRollups);
+        }
+        if (updated > 0 && flowChanged) {
+            List<TicketFlow> flows = ticketRepository.findFlowsByIdIn(ids);
+            afterCommit(() -> flows.forEach(ticketFlowStats::apply));
+        }
+        if (updated > 0 && (changes.status() != null || changes.priority() != null)) {
+            afterCommit(this::scanSlaBreaches);
+        }
+        return updated;
+    }
+
     /**
      * Assigns a ticket to a user and project.
      * @param id The ID of the ticket to assign.
@@ -263,17 +896,25 @@ public class TicketService {
 
         try {
 
+        CompletableFuture<?> peopleCheck = checkPeopleExists(userId);
+        CompletableFuture<?> projectCheck = checkProjectExists(projectId);
         Optional<Ticket> optionalTicket = ticketRepository.findById(id);
-        People people = getAssignedPersonById(userId);
-        Project project = getProjectById(projectId);
+        awaitDownstream(peopleCheck, projectCheck);
 
-        if (optionalTicket.isPresent() && people != null && project != null){
+        if (optionalTicket.isPresent()){
             Ticket ticket = optionalTicket.get();
+            Long previousProjectId = ticket.getProjectId();
 
             ticket.setPeopleId(userId);
             ticket.setProjectId(projectId);
 
             ticketRepository.save(ticket);
+            afterCommit(() -> {
+                projectTicketCounts.move(previousProjectId, projectId);
+                projectProgressRollups.apply(TicketProgress.of(ticket));
+                ticketFlowStats.apply(TicketFlow.of(ticket));
+                slaBreachQueue.apply(SlaCandidate.of(ticket));
+            });
 
             return true;
         }else {
@@ -305,6 +946,7 @@ public class TicketService {
             Ticket ticket = optionalTicket.get();
             ticket.setProgress(progress);
             ticketRepository.save(ticket);
+            afterCommit(() -> projectProgressRollups.apply(TicketProgress.of(ticket)));
             return true;
         } else {
             return false;
@@ -328,6 +970,24 @@ public class TicketService {
         return tickets;
     }
 
+    /**
+     * Searches for a page of tickets by priority, ordered by ID.
+     *
+     * @param priority The priority to search for.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param size     The maximum number of tickets to return.
+     * @return The page of tickets with the specified priority.
+     */
+    public CursorPage<Ticket> searchByPriority(TicketPriority priority, String cursor, int size) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Priority cannot be null");
+        }
+        CursorPage.validateSize(size);
+        List<Ticket> tickets = ticketRepository.findByPriorityAndIdGreaterThanOrderByIdAsc(
+                priority, CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        return CursorPage.of(tickets, size, Ticket::getId);
+    }
+
     /**
      * Searches for tickets by status.
      *
@@ -345,6 +1005,77 @@ public class TicketService {
         return tickets;
     }
 
+    /**
+     * Searches for a page of tickets by status, ordered by ID.
+     *
+     * @param status The status to search for.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The maximum number of tickets to return.
+     * @return The page of tickets with the specified status.
+     */
+    public CursorPage<Ticket> searchByStatus(TicketStatus status, String cursor, int size) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        CursorPage.validateSize(size);
+        List<Ticket> tickets = ticketRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, CursorPage.decodeCursor(cursor), Limit.of(size + 1));
+        return CursorPage.of(tickets, size, Ticket::getId);
+    }
+
+    /**
+     * Searches for tickets matching any combination of criteria.
+     *
+     * @param criteria  The criteria to filter by, null fields are ignored.
+     * @param sortBy    The field to sort by.
+     * @param direction The sort direction.
+     * @param size      The maximum number of tickets to return.
+     * @return List of matching tickets.
+     */
+    public List<Ticket> searchTickets(TicketSearchCriteria criteria, String sortBy, Sort.Direction direction, int size) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort by " + sortBy + ", expected one of " + SORTABLE_FIELDS);
+        }
+        if (criteria.createdFrom() != null && criteria.createdTo() != null
+                && criteria.createdFrom().isAfter(criteria.createdTo())) {
+            throw new IllegalArgumentException("createdFrom must not be after createdTo");
+        }
+        CursorPage.validateSize(size);
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+        return ticketRepository.findBy(TicketSpecifications.matching(criteria),
+                query -> query.sortBy(sort).limit(size).all());
+    }
+
+    /**
+     * Full-text search over ticket titles and descriptions, answered from the
+     * in-memory index without querying the database.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of hits to return.
+     * @return The matching tickets, best match first.
+     */
+    public List<TicketSearchHit> fullTextSearch(String query, int limit) {
+        if (!StringUtils.hasText(query)) {
+            throw new IllegalArgumentException("Query cannot be null or empty");
+        }
+        CursorPage.validateSize(limit);
+        return ticketSearchIndex.search(query, limit);
+    }
+
+    /**
+     * Loads every ticket into the full-text index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        try (Stream<Ticket> tickets = ticketRepository.streamAllOrderById()) {
+            ticketSearchIndex.rebuild(tickets.peek(entityManager::detach).iterator());
+        }
+    }
+
     /**
      * Retrieves completed tickets.
      *
@@ -364,6 +1095,8 @@ public class TicketService {
 
     /**
      * Retrieves top project tickets by progress.
+     * The per-project totals and top ticket come from the materialized rollups and
+     * are joined to the project list in a single pass.
      * @return List of project tickets with progress information.
      */
     public List<ProjectTicketProgress> getTopProjectTicketsByProgress(){
@@ -374,28 +1107,204 @@ public class TicketService {
         Project[] projects = projectsResponse.getBody();
 
         if (projects != null) {
-            for (Project project : projects) {
-                List<Ticket> ticketsForProject = getAllTickets()
-                        .stream()
-                        .filter(ticket -> Objects.equals(ticket.getProjectId(), project.getId()))
-                        .toList();
-
-                if (!ticketsForProject.isEmpty()) {
-                    Ticket topTicket = ticketsForProject.stream()
-                            .max(Comparator.comparingInt(Ticket::getProgress))
-                            .orElse(null);
+            if (!projectProgressRollups.isSeeded()) {
+                rebuildProgressRollups();
+            }
+            Map<Long, ProjectProgressSummary> summaryByProject = new HashMap<>();
+            for (ProjectProgressSummary summary : projectProgressRollups.summaries()) {
+                summaryByProject.put(summary.projectId(), summary);
+            }
 
-                    double totalEstimate = ticketsForProject.stream().mapToDouble(Ticket::getEstimate).sum();
-                    double totalProgress = ticketsForProject.stream().mapToDouble(Ticket::getProgress).sum();
-                    double progressPercentage = (totalProgress / totalEstimate) * 100;
+            Map<Long, Ticket> topTickets = new HashMap<>();
+            List<Long> topTicketIds = summaryByProject.values().stream()
+                    .map(ProjectProgressSummary::topTicketId)
+                    .toList();
+            for (Ticket ticket : ticketRepository.findAllById(topTicketIds)) {
+                topTickets.put(ticket.getId(), ticket);
+            }
 
-                    topTicketsWithProgress.add(new ProjectTicketProgress(project, topTicket, progressPercentage));
+            for (Project project : projects) {
+                ProjectProgressSummary summary = summaryByProject.get(project.getId());
+                if (summary != null) {
+                    topTicketsWithProgress.add(new ProjectTicketProgress(project, topTickets.get(summary.topTicketId()),
+                            summary.progressPercentage()));
                 }
             }
         }
         return topTicketsWithProgress;
     }
 
+    /**
+     * Rebuilds the project progress rollups from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildProgressRollups(){
+        projectProgressRollups.rebuild(ticketRepository.findAllProgress());
+    }
+
+    /**
+     * Rebuilds the ticket flow analytics from the database and the archive. Reads every
+     * ticket, so writes apply their own flows instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFlowStats(){
+        List<TicketFlow> flows = new ArrayList<>();
+        ticketArchive.forEach(ticket -> flows.add(TicketFlow.of(ticket)));
+        flows.addAll(ticketRepository.findAllFlows());
+        ticketFlowStats.rebuild(flows);
+    }
+
+    /**
+     * Counts the tickets created and resolved on each day of a range.
+     *
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @return The daily counts; days without activity are omitted.
+     */
+    public List<DailyFlow> getDailyFlow(LocalDate from, LocalDate to){
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+        if (!ticketFlowStats.isSeeded()) {
+            rebuildFlowStats();
+        }
+        return ticketFlowStats.dailyFlow(from, to);
+    }
+
+    /**
+     * Computes the cycle time percentiles of resolved tickets, from creation to resolution.
+     *
+     * @param groupBy The dimension to group by.
+     * @param projectId Only tickets of this project, if not null.
+     * @param priority Only tickets with this priority, if not null.
+     * @param type Only tickets of this type, if not null.
+     * @return The cycle time percentiles of each group, in seconds.
+     */
+    public List<CycleTimeStats> getCycleTimes(CycleTimeGroup groupBy, Long projectId, TicketPriority priority, TicketType type){
+        if (groupBy == null) {
+            throw new IllegalArgumentException("Group cannot be null");
+        }
+        if (!ticketFlowStats.isSeeded()) {
+            rebuildFlowStats();
+        }
+        return ticketFlowStats.cycleTimes(groupBy, projectId, priority, type);
+    }
+
+    /**
+     * Lists the open tickets that have breached the SLA of their priority.
+     *
+     * @param includeAtRisk Whether to include tickets close to breaching.
+     * @param limit The maximum number of tickets to return.
+     * @return The tickets, the earliest due first.
+     */
+    public List<SlaBreach> getSlaBreaches(boolean includeAtRisk, int limit){
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+        if (!slaBreachQueue.isSeeded()) {
+            scanSlaBreaches();
+        }
+        return slaBreachQueue.breaches(LocalDateTime.now(), includeAtRisk, limit);
+    }
+
+    public Map<TicketPriority, Duration> getSlaPolicy(){
+        return slaPolicy.targets();
+    }
+
+    /**
+     * Reloads the SLA breach queue with the open tickets that are at risk or will be
+     * before the next scan, reading each priority through the status/priority/creation index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ticket.sla.scan-interval-ms:60000}",
+            fixedDelayString = "${ticket.sla.scan-interval-ms:60000}")
+    public void scanSlaBreaches(){
+        LocalDateTime nextScan = LocalDateTime.now().plus(Duration.ofMillis(slaScanIntervalMs));
+        List<SlaCandidate> candidates = new ArrayList<>();
+        for (TicketPriority priority : TicketPriority.values()) {
+            candidates.addAll(ticketRepository.findSlaCandidates(SlaPolicy.OPEN_STATUSES, priority,
+                    slaPolicy.atRiskCreatedBefore(priority, nextScan)));
+        }
+        slaBreachQueue.rebuild(candidates);
+    }
+
+    /**
+     * Moves DONE and ABORTED tickets resolved more than the configured number of days ago
+     * to the archive. A row is only deleted while it is still resolved at the version that
+     * was read, so a ticket reopened in the meantime stays in the table and out of the
+     * segment. The segment is on disk before the transaction commits, but is only read
+     * once it has, and is deleted again on rollback. A crash in between leaves the tickets
+     * in both places rather than in neither, and lookups find the table row first. The
+     * flow analytics keep counting archived tickets.
+     *
+     * @param limit The maximum number of tickets to move.
+     * @return The number of tickets archived.
+     */
+    @Transactional
+    public int archiveResolvedTickets(int limit){
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+        LocalDateTime before = LocalDateTime.now().minusDays(archiveAfterDays);
+        List<Ticket> tickets = ticketRepository.findArchivable(ARCHIVED_STATUSES, before, PageRequest.of(0, limit));
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+        List<Ticket> archived = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            if (ticketRepository.deleteArchivable(ticket.getId(), ticket.getVersion(), ARCHIVED_STATUSES) == 1) {
+                archived.add(ticket);
+            }
+        }
+        if (archived.isEmpty()) {
+            return 0;
+        }
+        ticketArchive.append(archived);
+        // bulk deletes skip the entity listeners
+        changeCounter.markChanged();
+        afterCommit(() -> archived.forEach(ticket -> {
+            ticketSearchIndex.delete(ticket.getId());
+            projectTicketCounts.decrement(ticket.getProjectId());
+            projectProgressRollups.remove(ticket.getId());
+        }));
+        return archived.size();
+    }
+
+    /**
+     * Searches the archived tickets, the most recently archived first.
+     *
+     * @param projectId Only tickets of this project, if not null.
+     * @param status Only tickets with this status, if not null.
+     * @param size The maximum number of tickets to return.
+     * @return The matching archived tickets.
+     */
+    public List<Ticket> searchArchive(Long projectId, TicketStatus status, int size){
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be a positive number");
+        }
+        return ticketArchive.search(ticket -> (projectId == null || projectId.equals(ticket.getProjectId()))
+                && (status == null || status == ticket.getStatus()), size);
+    }
+
+    /**
+     * Compares the project progress rollups with the aggregate computed by the database
+     * and rebuilds them if they disagree.
+     *
+     * @return true if the rollups were consistent.
+     */
+    @Scheduled(initialDelayString = "${ticket.progress-rollups.check-interval-ms:300000}",
+            fixedDelayString = "${ticket.progress-rollups.check-interval-ms:300000}")
+    public boolean checkProgressRollups(){
+        List<ProjectProgressSummary> expected = new ArrayList<>(ticketRepository.findProgressSummaryByProject());
+        expected.sort(Comparator.comparing(ProjectProgressSummary::projectId));
+        if (expected.equals(projectProgressRollups.summaries())) {
+            return true;
+        }
+        logger.warn("Project progress rollups drifted from the database, rebuilding");
+        rebuildProgressRollups();
+        return false;
+    }
+
     /**
      * Retrieves top tickets by creation date for a given user.
      *
@@ -432,14 +1341,36 @@ public class TicketService {
 //        return tickets;
 //    }
 
+    /**
+     * Retrieves the number of tickets of each project from the in-memory counters.
+     *
+     * @return The ticket count keyed by project ID.
+     */
     public Map<Long, Integer> getTicketCountByProject(){
+        if (!projectTicketCounts.isSeeded()) {
+            reconcileProjectTicketCounts();
+        }
+        return projectTicketCounts.snapshot();
+    }
+
+    /**
+     * Seeds the per-project ticket counters at startup and periodically corrects any
+     * drift, e.g. after writes that bypass this service.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ticket.project-counts.reconcile-interval-ms:300000}",
+            fixedDelayString = "${ticket.project-counts.reconcile-interval-ms:300000}")
+    public void reconcileProjectTicketCounts(){
         List<Object[]> results = ticketRepository.findTicketCountByProject();
-        Map<Long, Integer> ticketCountByProject = new HashMap<>();
+        Map<Long, Long> ticketCountByProject = new HashMap<>();
         for (Object[] result : results){
-            Long projectId = (Long) result[0];
-            Integer ticketCount = ((Number) result[1]).intValue();
-            ticketCountByProject.put(projectId, ticketCount);
+            if (result[0] != null) {
+                ticketCountByProject.put((Long) result[0], ((Number) result[1]).longValue());
+            }
+        }
+        int drifted = projectTicketCounts.reconcile(ticketCountByProject);
+        if (drifted > 0) {
+            logger.debug("Reconciled ticket counters of {} projects", drifted);
         }
-        return ticketCountByProject;
     }
 }
\ No newline at end of file
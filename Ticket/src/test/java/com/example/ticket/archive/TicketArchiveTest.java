@@ -0,0 +1,157 @@
+package com.example.ticket.archive;
+
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketArchiveTest {
+
+    private static final long EPOCH = 42L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findsArchivedTicketsAcrossBlocksAndRestarts() throws Exception {
+        TicketArchive archive = new TicketArchive(objectMapper, EPOCH, directory.toString(), 4);
+        List<Ticket> tickets = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            tickets.add(ticket(id, id % 2 == 0 ? 1L : 2L, TicketStatus.DONE));
+        }
+        archive.append(tickets);
+
+        Ticket found = archive.find(7L).orElseThrow();
+        assertEquals("Ticket 7", found.getTitle());
+        assertEquals(2L, found.getProjectId());
+        assertEquals(tickets.get(6).getResolvedAt(), found.getResolvedAt());
+        assertTrue(archive.find(11L).isEmpty());
+
+        TicketArchive reopened = new TicketArchive(objectMapper, EPOCH, directory.toString(), 4);
+        assertEquals(10, reopened.size());
+        assertEquals("Ticket 10", reopened.find(10L).orElseThrow().getTitle());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void searchesTheLatestCopyOfEachTicket() {
+        TicketArchive archive = new TicketArchive(objectMapper, EPOCH, directory.toString(), 128);
+        archive.append(List.of(ticket(1L, 1L, TicketStatus.DONE), ticket(2L, 1L, TicketStatus.ABORTED)));
+        archive.append(List.of(ticket(3L, 2L, TicketStatus.DONE), ticket(1L, 2L, TicketStatus.DONE)));
+
+        assertEquals(3, archive.size());
+        assertEquals(List.of(3L, 1L), archive.search(ticket -> ticket.getProjectId() == 2L, 10)
+                .stream().map(Ticket::getId).toList());
+        assertEquals(List.of(3L), archive.search(ticket -> true, 1).stream().map(Ticket::getId).toList());
+        List<Long> all = new ArrayList<>();
+        archive.forEach(ticket -> all.add(ticket.getId()));
+        assertEquals(List.of(3L, 1L, 2L), all);
+    }
+
+    @Test
+    void ignoresTheSegmentsOfAnotherDatabase() throws Exception {
+        new TicketArchive(objectMapper, EPOCH, directory.toString(), 128)
+                .append(List.of(ticket(1L, 1L, TicketStatus.DONE), ticket(2L, 1L, TicketStatus.DONE)));
+
+        TicketArchive recreated = new TicketArchive(objectMapper, EPOCH + 1, directory.toString(), 128);
+        assertEquals(0, recreated.size());
+        assertTrue(recreated.find(1L).isEmpty());
+
+        recreated.append(List.of(ticket(1L, 3L, TicketStatus.ABORTED)));
+        assertEquals(3L, recreated.find(1L).orElseThrow().getProjectId());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        TicketArchive original = new TicketArchive(objectMapper, EPOCH, directory.toString(), 128);
+        assertEquals(2, original.size());
+        assertEquals(1L, original.find(1L).orElseThrow().getProjectId());
+    }
+
+    @Test
+    void doesNotCreateTheDirectoryUntilFirstWrite() {
+        Path missing = directory.resolve("archive");
+        TicketArchive archive = new TicketArchive(objectMapper, EPOCH, missing.toString(), 128);
+
+        assertEquals(0, archive.size());
+        assertFalse(Files.exists(missing));
+        archive.append(List.of(ticket(1L, 1L, TicketStatus.DONE)));
+        assertTrue(archive.contains(1L));
+    }
+
+    @Test
+    void publishesTheSegmentOnlyOnceTheTransactionCommits() {
+        TicketArchive archive = new TicketArchive(objectMapper, EPOCH, directory.toString(), 128);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            archive.append(List.of(ticket(1L, 1L, TicketStatus.DONE)));
+            assertFalse(archive.contains(1L));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(archive.contains(1L));
+    }
+
+    @Test
+    void deletesTheSegmentOfARolledBackTransaction() throws Exception {
+        TicketArchive archive = new TicketArchive(objectMapper, EPOCH, directory.toString(), 128);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            archive.append(List.of(ticket(1L, 1L, TicketStatus.DONE)));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(archive.find(1L).isEmpty());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        archive.append(List.of(ticket(2L, 1L, TicketStatus.DONE)));
+        assertEquals(1, new TicketArchive(objectMapper, EPOCH, directory.toString(), 128).size());
+    }
+
+    @Test
+    void keepsDeletedTicketsDeletedAcrossRestarts() {
+        TicketArchive archive = new TicketArchive(objectMapper, EPOCH, directory.toString(), 128);
+        archive.append(List.of(ticket(1L, 1L, TicketStatus.DONE), ticket(2L, 1L, TicketStatus.DONE)));
+
+        archive.delete(1L);
+        archive.delete(3L);
+
+        assertTrue(archive.find(1L).isEmpty());
+        assertEquals(List.of(2L), archive.search(ticket -> true, 10).stream().map(Ticket::getId).toList());
+        TicketArchive reopened = new TicketArchive(objectMapper, EPOCH, directory.toString(), 128);
+        assertEquals(1, reopened.size());
+        assertFalse(reopened.contains(1L));
+        assertTrue(reopened.contains(2L));
+    }
+
+    private static Ticket ticket(long id, Long projectId, TicketStatus status) {
+        LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 9, 0).plusHours(id);
+        return new Ticket(id, "Ticket " + id, "Description " + id, status, TicketType.BUG, TicketPriority.HIGH,
+                10, 10, createdAt, createdAt.plusDays(2), projectId, 1L);
+    }
+}
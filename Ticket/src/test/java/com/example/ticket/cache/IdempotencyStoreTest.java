@@ -0,0 +1,77 @@
+package com.example.ticket.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(new ObjectMapper(), 100, 60000);
+
+    @Test
+    void runsWriteOncePerKey() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, store.execute("op", "key", "body", calls::incrementAndGet));
+        assertEquals(1, store.execute("op", "key", "body", calls::incrementAndGet));
+        assertEquals(2, store.execute("other-op", "key", "body", calls::incrementAndGet));
+        assertEquals(3, store.execute("op", null, "body", calls::incrementAndGet));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void doesNotKeepFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> store.execute("op", "key", "body", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("downstream unavailable");
+        }));
+        assertEquals(ResponseEntity.notFound().build(),
+                store.execute("op", "key", "body", () -> ResponseEntity.notFound().build()));
+        assertEquals("created", store.execute("op", "key", "body", () -> "created"));
+        assertEquals("created", store.execute("op", "key", "body", () -> "again"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void concurrentRetriesWaitForTheFirstAttempt() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> store.execute("op", "key", List.of(1), () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return calls.incrementAndGet();
+            }));
+            started.await();
+            Future<Integer> retry = executor.submit(() -> store.execute("op", "key", List.of(1), calls::incrementAndGet));
+            release.countDown();
+
+            assertEquals(1, first.get());
+            assertEquals(1, retry.get());
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ticket.cache;
+
+import com.example.ticket.dto.CacheStatistics;
+import com.example.ticket.dto.People;
+import com.example.ticket.dto.Project;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataCacheTest {
+
+    private final ReferenceDataCache referenceDataCache = new ReferenceDataCache(100, 60000, 60000);
+
+    @Test
+    void getProject() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Long, Project> loader = id -> {
+            calls.incrementAndGet();
+            return new Project(id, "Project " + id, null, null);
+        };
+
+        assertEquals("Project 1", referenceDataCache.getProject(1L, loader).getName());
+        assertEquals("Project 1", referenceDataCache.getProject(1L, loader).getName());
+        assertEquals(1, calls.get());
+
+        CacheStatistics statistics = referenceDataCache.getStatistics().get("projects");
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.misses());
+        assertEquals(1, statistics.size());
+    }
+
+    @Test
+    void getPeopleNotFoundIsCached() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Long, People> loader = id -> {
+            calls.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        };
+
+        assertThrows(EntityNotFoundException.class, () -> referenceDataCache.getPeople(1L, loader));
+        assertThrows(EntityNotFoundException.class, () -> referenceDataCache.getPeople(1L, loader));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void getPeopleFailureIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Long, People> loader = id -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("Service unavailable");
+        };
+
+        assertThrows(RuntimeException.class, () -> referenceDataCache.getPeople(1L, loader));
+        assertThrows(RuntimeException.class, () -> referenceDataCache.getPeople(1L, loader));
+        assertEquals(2, calls.get());
+    }
+}
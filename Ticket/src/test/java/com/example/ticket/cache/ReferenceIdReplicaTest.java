@@ -0,0 +1,115 @@
+package com.example.ticket.cache;
+
+import com.example.ticket.dto.IdChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceIdReplicaTest {
+
+    private static final String PROJECTS = "http://localhost:9092/projects/changes";
+    private static final String PEOPLE = "http://localhost:9094/people/changes";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Test
+    void appliesSnapshotThenDeltas() {
+        ReferenceIdReplica replica = new ReferenceIdReplica(restTemplate, 2, 600000, 0);
+        when(restTemplate.getForObject(PROJECTS + "?since=0&limit=2", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(1L, 2L), List.of(), 5L, true, false));
+        when(restTemplate.getForObject(PEOPLE + "?since=0&limit=2", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(7L), List.of(), 3L, true, false));
+        replica.sync();
+
+        assertTrue(replica.containsProject(1L));
+        assertTrue(replica.containsPeople(7L));
+        assertFalse(replica.containsPeople(1L));
+
+        when(restTemplate.getForObject(PROJECTS + "?since=5&limit=2", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(3L), List.of(1L), 7L, false, true));
+        when(restTemplate.getForObject(PROJECTS + "?since=7&limit=2", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(4L), List.of(), 8L, false, false));
+        when(restTemplate.getForObject(PEOPLE + "?since=3&limit=2", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(), List.of(), 3L, false, false));
+        replica.sync();
+
+        assertFalse(replica.containsProject(1L));
+        assertTrue(replica.containsProject(2L));
+        assertTrue(replica.containsProject(3L));
+        assertTrue(replica.containsProject(4L));
+        assertFalse(replica.containsProject(null));
+    }
+
+    @Test
+    void rereadsAWindowBehindTheCursor() {
+        ReferenceIdReplica replica = new ReferenceIdReplica(restTemplate, 100, 600000, 3);
+        when(restTemplate.getForObject(startsWith(PEOPLE), eq(IdChangeFeed.class)))
+                .thenReturn(new IdChangeFeed(List.of(), List.of(), 0L, true, false));
+        when(restTemplate.getForObject(PROJECTS + "?since=0&limit=100", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(1L), List.of(), 10L, true, false));
+        replica.sync();
+
+        // sequence 9 committed after the snapshot had read up to 10
+        when(restTemplate.getForObject(PROJECTS + "?since=7&limit=100", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(9L, 2L), List.of(), 11L, false, false));
+        replica.sync();
+
+        assertTrue(replica.containsProject(9L));
+        assertTrue(replica.containsProject(2L));
+
+        when(restTemplate.getForObject(PROJECTS + "?since=8&limit=100", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(), List.of(9L), 12L, false, false));
+        // a window with nothing new does not move the cursor back
+        when(restTemplate.getForObject(PROJECTS + "?since=9&limit=100", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(), List.of(), 9L, false, false));
+        replica.sync();
+        replica.sync();
+        replica.sync();
+
+        assertFalse(replica.containsProject(9L));
+        verify(restTemplate, times(2)).getForObject(PROJECTS + "?since=9&limit=100", IdChangeFeed.class);
+    }
+
+    @Test
+    void keepsKnownIdsWhenFeedIsDown() {
+        ReferenceIdReplica replica = new ReferenceIdReplica(restTemplate, 100, 600000, 0);
+        when(restTemplate.getForObject(startsWith(PROJECTS), eq(IdChangeFeed.class)))
+                .thenReturn(new IdChangeFeed(List.of(1L), List.of(), 1L, true, false))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        when(restTemplate.getForObject(startsWith(PEOPLE), eq(IdChangeFeed.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        replica.sync();
+        replica.sync();
+
+        assertTrue(replica.containsProject(1L));
+        assertFalse(replica.containsPeople(1L));
+    }
+
+    @Test
+    void resnapshotsAfterInterval() {
+        ReferenceIdReplica replica = new ReferenceIdReplica(restTemplate, 100, 0, 0);
+        when(restTemplate.getForObject(PROJECTS + "?since=0&limit=100", IdChangeFeed.class))
+                .thenReturn(new IdChangeFeed(List.of(1L, 2L), List.of(), 4L, true, false))
+                .thenReturn(new IdChangeFeed(List.of(2L), List.of(), 1L, true, false));
+        when(restTemplate.getForObject(startsWith(PEOPLE), eq(IdChangeFeed.class)))
+                .thenReturn(new IdChangeFeed(List.of(), List.of(), 0L, true, false));
+
+        replica.sync();
+        replica.sync();
+
+        assertFalse(replica.containsProject(1L));
+        assertTrue(replica.containsProject(2L));
+    }
+}
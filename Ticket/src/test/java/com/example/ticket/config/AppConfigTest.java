@@ -0,0 +1,85 @@
+package com.example.ticket.config;
+
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppConfigTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AppConfig appConfig = new AppConfig();
+
+    @Test
+    void restTemplatePrefersBinaryFormats() {
+        MappingJackson2CborHttpMessageConverter cbor = appConfig.cborHttpMessageConverter(objectMapper);
+        MappingJackson2SmileHttpMessageConverter smile = appConfig.smileHttpMessageConverter(objectMapper);
+
+        List<HttpMessageConverter<?>> converters = AppConfig.preferBinaryFormats(new RestTemplate(), cbor, smile)
+                .getMessageConverters();
+
+        assertSame(smile, converters.get(0));
+        assertSame(cbor, converters.get(1));
+        assertEquals(1, converters.stream().filter(MappingJackson2CborHttpMessageConverter.class::isInstance).count());
+        assertEquals(1, converters.stream().filter(MappingJackson2SmileHttpMessageConverter.class::isInstance).count());
+        assertTrue(converters.stream().anyMatch(MappingJackson2HttpMessageConverter.class::isInstance));
+    }
+
+    @Test
+    void cborRoundTripsTicketsInFewerBytes() throws Exception {
+        MappingJackson2CborHttpMessageConverter cbor = appConfig.cborHttpMessageConverter(objectMapper);
+        Ticket ticket = new Ticket(1L, "Title", "Description", TicketStatus.NEW, TicketType.BUG,
+                TicketPriority.HIGH, 10, 20, LocalDateTime.of(2024, 2, 2, 10, 0), null, 1L, 2L);
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        cbor.write(ticket, MediaType.parseMediaType("application/cbor"), output);
+        Ticket read = (Ticket) cbor.read(Ticket.class, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        assertEquals(ticket.getTitle(), read.getTitle());
+        assertEquals(ticket.getCreatedAt(), read.getCreatedAt());
+        assertEquals(ticket.getPriority(), read.getPriority());
+        assertTrue(output.getBodyAsBytes().length < objectMapper.writeValueAsBytes(ticket).length);
+    }
+
+    @Test
+    void saturatedDownstreamExecutorRejectsCalls() {
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) appConfig.downstreamExecutor(false);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            int capacity = executor.getMaxPoolSize() + executor.getQueueCapacity();
+            for (int i = 0; i < capacity; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            assertThrows(RejectedExecutionException.class, () -> CompletableFuture.runAsync(() -> { }, executor));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
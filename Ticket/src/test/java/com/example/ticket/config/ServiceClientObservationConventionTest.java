@@ -0,0 +1,39 @@
+package com.example.ticket.config;
+
+import io.micrometer.common.KeyValues;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceClientObservationConventionTest {
+
+    private final ServiceClientObservationConvention convention = new ServiceClientObservationConvention();
+
+    @Test
+    void collapsesIdsAndKeepsTheDiscoveredServiceName() {
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(context("http://PROJECT/projects/42"));
+
+        assertEquals("/projects/{id}", keyValues.stream().filter(kv -> kv.getKey().equals("uri")).findFirst().orElseThrow().getValue());
+        assertEquals("PROJECT", keyValues.stream().filter(kv -> kv.getKey().equals("client.name")).findFirst().orElseThrow().getValue());
+    }
+
+    @Test
+    void dropsQueryStringsAndKeepsThePortOfDirectCalls() {
+        KeyValues keyValues = convention.getLowCardinalityKeyValues(context("http://localhost:9094/people/batch?ids=1,2,3"));
+
+        assertEquals("/people/batch", keyValues.stream().filter(kv -> kv.getKey().equals("uri")).findFirst().orElseThrow().getValue());
+        assertEquals("localhost:9094", keyValues.stream().filter(kv -> kv.getKey().equals("client.name")).findFirst().orElseThrow().getValue());
+    }
+
+    private static ClientRequestObservationContext context(String url) {
+        ClientRequestObservationContext context =
+                new ClientRequestObservationContext(new MockClientHttpRequest(HttpMethod.GET, URI.create(url)));
+        context.setUriTemplate(url);
+        return context;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ticket.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedStackTrace;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void chargesPinsToTheTopmostKnownLibrary() {
+        assertEquals("h2", VirtualThreadPinningMonitor.sourceOf(List.of(
+                "java.lang.Object",
+                "org.h2.mvstore.MVStore",
+                "com.zaxxer.hikari.pool.HikariProxyConnection",
+                "com.example.ticket.service.TicketService")));
+        assertEquals("hikari", VirtualThreadPinningMonitor.sourceOf(List.of(
+                "jdk.internal.misc.Unsafe",
+                "com.zaxxer.hikari.pool.HikariPool",
+                "org.springframework.orm.jpa.JpaTransactionManager")));
+        assertEquals("app", VirtualThreadPinningMonitor.sourceOf(List.of(
+                "java.lang.Thread",
+                "com.example.ticket.cache.ReferenceIdReplica")));
+    }
+
+    @Test
+    void chargesUnknownStacksToOther() {
+        assertEquals("other", VirtualThreadPinningMonitor.sourceOf(List.of("java.lang.Thread", "sun.nio.ch.NioSocketImpl")));
+        assertEquals("other", VirtualThreadPinningMonitor.sourceOf(List.of()));
+        assertEquals("unknown", VirtualThreadPinningMonitor.sourceOf((RecordedStackTrace) null));
+    }
+
+    @Test
+    void startsAndStopsTheRecording() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(), 10);
+
+        monitor.start();
+        try {
+            assertTrue(monitor.isRunning());
+        } finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isRunning());
+    }
+}
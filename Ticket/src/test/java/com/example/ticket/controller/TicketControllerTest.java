@@ -1,17 +1,33 @@
 package com.example.ticket.controller;
 
+import com.example.ticket.cache.IdempotencyStore;
 import com.example.ticket.dto.Project;
 import com.example.ticket.entity.Ticket;
+import com.example.ticket.mapper.TicketMapper;
+import com.example.ticket.service.ChangeCounter;
 import com.example.ticket.service.TicketService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -21,12 +37,17 @@ class TicketControllerTest {
     @Mock
     private TicketService ticketService;
 
-    @Mock
-    private ModelMapper modelMapper;
-
     @InjectMocks
     private TicketController ticketController;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ticketController, "idempotencyStore",
+                new IdempotencyStore(new ObjectMapper().findAndRegisterModules(), 100, 60000));
+        ReflectionTestUtils.setField(ticketController, "changeCounter", new ChangeCounter());
+        ReflectionTestUtils.setField(ticketController, "ticketMapper", new TicketMapper());
+    }
+
 
     @Test
     void getAllTickets() {
@@ -36,6 +57,19 @@ class TicketControllerTest {
     void getTicketById() {
     }
 
+    @Test
+    void getTicketByIdNotModified() {
+        when(ticketService.getTicketVersion(1L)).thenReturn(Optional.of(2L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tickets/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ChangeCounter.entityETag(2L));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(ticketController.getTicketById(1L, new ServletWebRequest(request, response)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+        verify(ticketService, never()).getTicketById(any());
+    }
+
     @Test
     void searchByPriority() {
     }
@@ -65,12 +99,37 @@ class TicketControllerTest {
 
         when(ticketService.createTicket(any(Ticket.class))).thenReturn(newTicket);
 
-        Ticket createdTicket = ticketController.createTicket(newTicket);
+        Ticket createdTicket = ticketController.createTicket(null, newTicket);
 
         assertEquals(newTicket, createdTicket);
         verify(ticketService, times(1)).createTicket(newTicket);
     }
 
+    @Test
+    void patchTicketIsConditionalOnIfMatch() throws Exception {
+        JsonNode patch = new ObjectMapper().readTree("{\"title\": \"Ticket 2\"}");
+        Ticket patched = new Ticket();
+        when(ticketService.patchTicket(1L, patch, 4L)).thenReturn(patched);
+        when(ticketService.patchTicket(1L, patch, null)).thenReturn(patched);
+        when(ticketService.patchTicket(1L, patch, -1L)).thenReturn(patched);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/tickets/1");
+        request.addHeader(HttpHeaders.IF_MATCH, ChangeCounter.entityETag(4L));
+        assertSame(patched, ticketController.patchTicket(1L, patch, new ServletWebRequest(request)));
+        MockHttpServletRequest any = new MockHttpServletRequest("PATCH", "/tickets/1");
+        any.addHeader(HttpHeaders.IF_MATCH, "*");
+        assertSame(patched, ticketController.patchTicket(1L, patch, new ServletWebRequest(any)));
+        MockHttpServletRequest weak = new MockHttpServletRequest("PATCH", "/tickets/1");
+        weak.addHeader(HttpHeaders.IF_MATCH, "W/\"4\"");
+        assertSame(patched, ticketController.patchTicket(1L, patch, new ServletWebRequest(weak)));
+
+        ObjectOptimisticLockingFailureException stale = new ObjectOptimisticLockingFailureException(Ticket.class, 1L);
+        assertEquals(HttpStatus.PRECONDITION_FAILED,
+                ticketController.handleConflict(stale, new ServletWebRequest(request)).getStatusCode());
+        assertEquals(HttpStatus.CONFLICT,
+                ticketController.handleConflict(stale, new ServletWebRequest(new MockHttpServletRequest())).getStatusCode());
+    }
+
     @Test
     void updateTicket() {
         Long id = 1L;
@@ -81,14 +140,14 @@ class TicketControllerTest {
                 existingTicket.getEstimate(), existingTicket.getResolvedAt(),
                 existingTicket.getCreatedAt(), existingTicket.getProjectId(), existingTicket.getPeopleId());
 
-        when(ticketService.updateTicket(updateTicket)).thenReturn(updateTicket);
+        when(ticketService.updateTicket(updateTicket, null)).thenReturn(updateTicket);
 
-        Ticket result = ticketController.updateTicket(updateTicket);
+        Ticket result = ticketController.updateTicket(updateTicket, new ServletWebRequest(new MockHttpServletRequest()));
 
         assertNotNull(result);
         assertEquals(updateTicket, result);
 
-        verify(ticketService).updateTicket(updateTicket);
+        verify(ticketService).updateTicket(updateTicket, null);
     }
 
     @Test
@@ -105,6 +164,32 @@ class TicketControllerTest {
 
     @Test
     void assignTicket() {
+        when(ticketService.assignTicket(1L, 2L, 3L)).thenReturn(true);
+        Map<String, Long> body = Map.of("idPeople", 2L, "idProject", 3L);
+
+        ResponseEntity<String> first = ticketController.assignTicket("key-1", 1L, body);
+        ResponseEntity<String> retry = ticketController.assignTicket("key-1", 1L, body);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(first, retry);
+        verify(ticketService, times(1)).assignTicket(1L, 2L, 3L);
+    }
+
+    @Test
+    void createTicketRetriedWithIdempotencyKey() {
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("New ticket");
+        newTicket.setDescription("New description");
+        newTicket.setProjectId(1L);
+        newTicket.setPeopleId(1L);
+        when(ticketService.createTicket(newTicket)).thenReturn(newTicket);
+
+        assertEquals(newTicket, ticketController.createTicket("key-1", newTicket));
+        assertEquals(newTicket, ticketController.createTicket("key-1", newTicket));
+        verify(ticketService, times(1)).createTicket(newTicket);
+
+        newTicket.setTitle("Another ticket");
+        assertThrows(ResponseStatusException.class, () -> ticketController.createTicket("key-1", newTicket));
     }
 
     @Test
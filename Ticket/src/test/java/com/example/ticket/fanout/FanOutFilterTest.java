@@ -0,0 +1,39 @@
+package com.example.ticket.fanout;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutFilterTest {
+
+    private final FanOutFilter filter = new FanOutFilter();
+
+    @Test
+    void reportsTheLedgerInResponseHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/tickets/enriched"), response, (req, res) -> {
+            FanOutLedger ledger = FanOutLedger.current();
+            ledger.recordCall();
+            ledger.recordCall();
+            ledger.recordBytes(512);
+            res.getOutputStream().write('x');
+        });
+
+        assertEquals("2", response.getHeader(FanOutFilter.CALLS_HEADER));
+        assertEquals("512", response.getHeader(FanOutFilter.BYTES_HEADER));
+        assertNotNull(response.getHeader(FanOutFilter.WAIT_HEADER));
+        assertNull(FanOutLedger.current());
+    }
+
+    @Test
+    void reportsResponsesWithoutBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/tickets/1"), response, (req, res) -> { });
+
+        assertEquals("0", response.getHeader(FanOutFilter.CALLS_HEADER));
+    }
+}
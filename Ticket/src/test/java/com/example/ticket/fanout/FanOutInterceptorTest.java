@@ -0,0 +1,104 @@
+package com.example.ticket.fanout;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutInterceptorTest {
+
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://PROJECT/projects/1"));
+    private final AtomicInteger executed = new AtomicInteger();
+    private final ClientHttpRequestExecution execution = (request, body) -> {
+        executed.incrementAndGet();
+        return new MockClientHttpResponse("{\"id\":1}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    };
+
+    @AfterEach
+    void unbind() {
+        FanOutLedger.bind(null);
+    }
+
+    @Test
+    void chargesCallsAndBytesToTheCurrentRequest() throws Exception {
+        FanOutLedger ledger = new FanOutLedger("GET /tickets/1");
+        FanOutLedger.bind(ledger);
+        FanOutInterceptor interceptor = new FanOutInterceptor(20, FanOutInterceptor.Mode.LOG);
+
+        try (ClientHttpResponse response = interceptor.intercept(request, new byte[3], execution)) {
+            response.getBody().readAllBytes();
+        }
+        interceptor.intercept(request, new byte[0], execution).close();
+
+        assertEquals(2, ledger.calls());
+        assertEquals(3 + 8, ledger.bytes());
+        assertFalse(ledger.isOverBudget());
+    }
+
+    @Test
+    void logsOnceWhenTheBudgetIsExceeded() throws Exception {
+        FanOutLedger ledger = new FanOutLedger("GET /tickets/enriched");
+        FanOutLedger.bind(ledger);
+        FanOutInterceptor interceptor = new FanOutInterceptor(1, FanOutInterceptor.Mode.LOG);
+
+        for (int i = 0; i < 3; i++) {
+            interceptor.intercept(request, new byte[0], execution).close();
+        }
+
+        assertEquals(3, executed.get());
+        assertTrue(ledger.isOverBudget());
+    }
+
+    @Test
+    void failsFastWhenTheBudgetIsExceeded() throws Exception {
+        FanOutLedger.bind(new FanOutLedger("GET /tickets/enriched"));
+        FanOutInterceptor interceptor = new FanOutInterceptor(1, FanOutInterceptor.Mode.FAIL);
+
+        interceptor.intercept(request, new byte[0], execution).close();
+
+        assertThrows(FanOutBudgetExceededException.class, () -> interceptor.intercept(request, new byte[0], execution));
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    void followsTasksHandedToExecutors() throws Exception {
+        FanOutLedger ledger = new FanOutLedger("GET /tickets/1");
+        FanOutInterceptor interceptor = new FanOutInterceptor(20, FanOutInterceptor.Mode.FAIL);
+        FanOutLedger.bind(ledger);
+        Runnable task = FanOutLedger.propagate(() -> {
+            try {
+                interceptor.intercept(request, new byte[0], execution).close();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        FanOutLedger.bind(null);
+
+        Thread worker = new Thread(task);
+        worker.start();
+        worker.join();
+
+        assertEquals(1, ledger.calls());
+        assertNull(FanOutLedger.current());
+    }
+
+    @Test
+    void ignoresCallsOutsideARequest() throws Exception {
+        FanOutInterceptor interceptor = new FanOutInterceptor(1, FanOutInterceptor.Mode.FAIL);
+
+        interceptor.intercept(request, new byte[0], execution).close();
+        interceptor.intercept(request, new byte[0], execution).close();
+
+        assertEquals(2, executed.get());
+    }
+}
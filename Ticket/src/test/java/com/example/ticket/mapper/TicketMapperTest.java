@@ -0,0 +1,37 @@
+package com.example.ticket.mapper;
+
+import com.example.ticket.dto.TicketDTO;
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TicketMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final TicketMapper ticketMapper = new TicketMapper();
+
+    @Test
+    void matchesModelMapper() throws Exception {
+        List<Ticket> tickets = List.of(
+                new Ticket(1L, "Title", "Description", TicketStatus.IN_PROGRESS, TicketType.BUG, TicketPriority.HIGH,
+                        40, 8, LocalDateTime.of(2024, 2, 2, 10, 0), null, 3L, 7L),
+                new Ticket(2L, "Unassigned", "No project nor person", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH,
+                        0, 0, null, null, null, null),
+                new Ticket());
+
+        for (Ticket ticket : tickets) {
+            assertEquals(objectMapper.writeValueAsString(modelMapper.map(ticket, TicketDTO.class)),
+                    objectMapper.writeValueAsString(ticketMapper.toDTO(ticket)));
+        }
+    }
+}
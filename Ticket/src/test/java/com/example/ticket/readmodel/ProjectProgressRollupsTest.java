@@ -0,0 +1,50 @@
+package com.example.ticket.readmodel;
+
+import com.example.ticket.dto.ProjectProgressSummary;
+import com.example.ticket.dto.TicketProgress;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectProgressRollupsTest {
+
+    @Test
+    void keepsTotalsAndTopTicketPerProject() {
+        ProjectProgressRollups rollups = new ProjectProgressRollups();
+        rollups.rebuild(List.of(
+                new TicketProgress(1L, 1L, 10, 4),
+                new TicketProgress(2L, 1L, 10, 4),
+                new TicketProgress(3L, 2L, 5, 1),
+                new TicketProgress(4L, null, 5, 5)));
+
+        assertEquals(List.of(
+                new ProjectProgressSummary(1L, 20L, 8L, 1L),
+                new ProjectProgressSummary(2L, 5L, 1L, 3L)), rollups.summaries());
+    }
+
+    @Test
+    void promotesNextTicketWhenTopTicketChanges() {
+        ProjectProgressRollups rollups = new ProjectProgressRollups();
+        rollups.rebuild(List.of(new TicketProgress(1L, 1L, 10, 9), new TicketProgress(2L, 1L, 10, 3)));
+
+        rollups.apply(new TicketProgress(1L, 1L, 10, 1));
+        assertEquals(List.of(new ProjectProgressSummary(1L, 20L, 4L, 2L)), rollups.summaries());
+
+        rollups.remove(2L);
+        assertEquals(List.of(new ProjectProgressSummary(1L, 10L, 1L, 1L)), rollups.summaries());
+    }
+
+    @Test
+    void movesTicketBetweenProjects() {
+        ProjectProgressRollups rollups = new ProjectProgressRollups();
+        assertFalse(rollups.isSeeded());
+        rollups.rebuild(List.of(new TicketProgress(1L, 1L, 10, 5)));
+
+        rollups.apply(new TicketProgress(1L, 2L, 10, 5));
+
+        assertTrue(rollups.isSeeded());
+        assertEquals(List.of(new ProjectProgressSummary(2L, 10L, 5L, 1L)), rollups.summaries());
+    }
+}
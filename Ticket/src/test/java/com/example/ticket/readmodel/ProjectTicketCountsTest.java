@@ -0,0 +1,54 @@
+package com.example.ticket.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectTicketCountsTest {
+
+    @Test
+    void adjustsCountersOnWrites() {
+        ProjectTicketCounts counts = new ProjectTicketCounts();
+        counts.reconcile(Map.of(1L, 2L));
+
+        counts.increment(2L);
+        counts.move(1L, 2L);
+        counts.move(2L, 2L);
+        counts.decrement(1L);
+
+        assertEquals(Map.of(2L, 2), counts.snapshot());
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        ProjectTicketCounts counts = new ProjectTicketCounts();
+        assertFalse(counts.isSeeded());
+        counts.increment(1L);
+        counts.increment(3L);
+
+        int drifted = counts.reconcile(Map.of(1L, 1L, 2L, 4L));
+
+        assertTrue(counts.isSeeded());
+        assertEquals(2, drifted);
+        assertEquals(Map.of(1L, 1, 2L, 4), counts.snapshot());
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws InterruptedException {
+        ProjectTicketCounts counts = new ProjectTicketCounts();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8000; i++) {
+            long projectId = i % 4;
+            executor.execute(() -> counts.increment(projectId));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(Map.of(0L, 2000, 1L, 2000, 2L, 2000, 3L, 2000), counts.snapshot());
+    }
+}
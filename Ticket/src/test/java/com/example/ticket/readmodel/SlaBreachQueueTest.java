@@ -0,0 +1,67 @@
+package com.example.ticket.readmodel;
+
+import com.example.ticket.dto.SlaBreach;
+import com.example.ticket.dto.SlaCandidate;
+import com.example.ticket.enums.SlaState;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.service.SlaPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlaBreachQueueTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    private final SlaPolicy slaPolicy = new SlaPolicy(Duration.ofDays(2), Duration.ofDays(3), Duration.ofDays(5), Duration.ofDays(10), 0.5);
+
+    @Test
+    void listsBreachedTicketsEarliestDueFirst() {
+        SlaBreachQueue queue = new SlaBreachQueue(slaPolicy);
+        queue.rebuild(List.of(
+                new SlaCandidate(1L, 1L, TicketPriority.NORMAL, TicketStatus.NEW, NOW.minusDays(6)),
+                new SlaCandidate(2L, 1L, TicketPriority.HIGH, TicketStatus.IN_PROGRESS, NOW.minusDays(4)),
+                new SlaCandidate(3L, 2L, TicketPriority.HIGH, TicketStatus.ASSIGNED, NOW.minusDays(1)),
+                new SlaCandidate(4L, 2L, TicketPriority.LOW, TicketStatus.NEW, NOW.minusDays(1))));
+
+        assertEquals(List.of(
+                new SlaBreach(2L, 1L, TicketPriority.HIGH, NOW.minusDays(4), NOW.minusDays(2), SlaState.BREACHED),
+                new SlaBreach(1L, 1L, TicketPriority.NORMAL, NOW.minusDays(6), NOW.minusDays(1), SlaState.BREACHED)),
+                queue.breaches(NOW, false, 10));
+        assertEquals(1, queue.breaches(NOW, false, 1).size());
+    }
+
+    @Test
+    void includesAtRiskTicketsWhenAsked() {
+        SlaBreachQueue queue = new SlaBreachQueue(slaPolicy);
+        queue.rebuild(List.of(
+                new SlaCandidate(1L, 1L, TicketPriority.HIGH, TicketStatus.NEW, NOW.minusDays(3)),
+                new SlaCandidate(2L, 1L, TicketPriority.HIGH, TicketStatus.NEW, NOW.minusHours(36)),
+                new SlaCandidate(3L, 1L, TicketPriority.HIGH, TicketStatus.NEW, NOW.minusHours(12))));
+
+        List<SlaBreach> breaches = queue.breaches(NOW, true, 10);
+
+        assertEquals(List.of(1L, 2L), breaches.stream().map(SlaBreach::ticketId).toList());
+        assertEquals(List.of(SlaState.BREACHED, SlaState.AT_RISK), breaches.stream().map(SlaBreach::state).toList());
+    }
+
+    @Test
+    void followsPriorityAndStatusChanges() {
+        SlaBreachQueue queue = new SlaBreachQueue(slaPolicy);
+        assertFalse(queue.isSeeded());
+        queue.rebuild(List.of(new SlaCandidate(1L, 1L, TicketPriority.LOW, TicketStatus.NEW, NOW.minusDays(3))));
+        assertTrue(queue.breaches(NOW, false, 10).isEmpty());
+
+        queue.apply(new SlaCandidate(1L, 1L, TicketPriority.HIGH, TicketStatus.NEW, NOW.minusDays(3)));
+        assertEquals(1, queue.breaches(NOW, false, 10).size());
+
+        queue.apply(new SlaCandidate(1L, 1L, TicketPriority.HIGH, TicketStatus.DONE, NOW.minusDays(3)));
+        assertTrue(queue.isSeeded());
+        assertTrue(queue.breaches(NOW, true, 10).isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ticket.readmodel;
+
+import com.example.ticket.dto.CycleTimeStats;
+import com.example.ticket.dto.DailyFlow;
+import com.example.ticket.dto.TicketFlow;
+import com.example.ticket.enums.CycleTimeGroup;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketFlowStatsTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 5, 6, 9, 0);
+
+    @Test
+    void countsCreatedAndResolvedPerDay() {
+        TicketFlowStats stats = new TicketFlowStats();
+        stats.rebuild(List.of(
+                new TicketFlow(1L, 1L, TicketPriority.HIGH, TicketType.BUG, MONDAY, MONDAY.plusDays(1)),
+                new TicketFlow(2L, 1L, TicketPriority.HIGH, TicketType.BUG, MONDAY, null),
+                new TicketFlow(3L, 2L, TicketPriority.LOW, TicketType.ENHANCEMENT, MONDAY.plusDays(1), MONDAY.plusDays(3))));
+
+        assertEquals(List.of(
+                new DailyFlow(LocalDate.of(2024, 5, 6), 2, 0),
+                new DailyFlow(LocalDate.of(2024, 5, 7), 1, 1)),
+                stats.dailyFlow(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 7)));
+        assertEquals(List.of(new DailyFlow(LocalDate.of(2024, 5, 9), 0, 1)),
+                stats.dailyFlow(LocalDate.of(2024, 5, 8), LocalDate.of(2024, 5, 31)));
+    }
+
+    @Test
+    void reportsCycleTimePercentiles() {
+        List<TicketFlow> tickets = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            tickets.add(new TicketFlow(i, 1L, TicketPriority.HIGH, TicketType.BUG, MONDAY, MONDAY.plusSeconds(i * 10L)));
+        }
+        TicketFlowStats stats = new TicketFlowStats();
+        stats.rebuild(tickets);
+
+        assertEquals(List.of(new CycleTimeStats("1", 10, 50, 90, 100)),
+                stats.cycleTimes(CycleTimeGroup.PROJECT, null, null, null));
+    }
+
+    @Test
+    void mergesHistogramsIntoTheRequestedGroups() {
+        TicketFlowStats stats = new TicketFlowStats();
+        stats.rebuild(List.of(
+                new TicketFlow(1L, 1L, TicketPriority.HIGH, TicketType.BUG, MONDAY, MONDAY.plusSeconds(10)),
+                new TicketFlow(2L, 2L, TicketPriority.HIGH, TicketType.ENHANCEMENT, MONDAY, MONDAY.plusSeconds(30)),
+                new TicketFlow(3L, 2L, TicketPriority.LOW, TicketType.BUG, MONDAY, MONDAY.plusSeconds(50))));
+
+        assertEquals(List.of(
+                new CycleTimeStats("HIGH", 2, 10, 30, 30),
+                new CycleTimeStats("LOW", 1, 50, 50, 50)),
+                stats.cycleTimes(CycleTimeGroup.PRIORITY, null, null, null));
+        assertEquals(List.of(
+                new CycleTimeStats("1", 1, 10, 10, 10),
+                new CycleTimeStats("2", 1, 50, 50, 50)),
+                stats.cycleTimes(CycleTimeGroup.PROJECT, null, null, TicketType.BUG));
+    }
+
+    @Test
+    void reopenedAndDeletedTicketsStopCounting() {
+        TicketFlowStats stats = new TicketFlowStats();
+        assertFalse(stats.isSeeded());
+        stats.rebuild(List.of(
+                new TicketFlow(1L, 1L, TicketPriority.HIGH, TicketType.BUG, MONDAY, MONDAY.plusSeconds(10)),
+                new TicketFlow(2L, 1L, TicketPriority.HIGH, TicketType.BUG, MONDAY, MONDAY.plusSeconds(20))));
+
+        stats.apply(new TicketFlow(1L, 1L, TicketPriority.HIGH, TicketType.BUG, TicketStatus.IN_PROGRESS,
+                MONDAY, MONDAY.plusSeconds(10)));
+        assertEquals(List.of(new CycleTimeStats("1", 1, 20, 20, 20)),
+                stats.cycleTimes(CycleTimeGroup.PROJECT, null, null, null));
+
+        stats.remove(2L);
+        stats.remove(1L);
+        assertTrue(stats.isSeeded());
+        assertTrue(stats.cycleTimes(CycleTimeGroup.PROJECT, null, null, null).isEmpty());
+        assertTrue(stats.dailyFlow(MONDAY.toLocalDate(), MONDAY.toLocalDate()).isEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ticket.repository;
+
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import com.example.ticket.service.ChangeCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+@Transactional
+class TicketRepositoryTest {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Test
+    void bulkUpdateChangesTheEntityETagOfMatchedTickets() {
+        Ticket matched = ticketRepository.saveAndFlush(ticket(7L));
+        Ticket other = ticketRepository.saveAndFlush(ticket(8L));
+        String etag = ChangeCounter.entityETag(ticketRepository.findVersionById(matched.getId()).orElseThrow());
+
+        int updated = ticketRepository.bulkUpdate(false, List.of(matched.getId()), null, null, null,
+                null, TicketPriority.LOW, null, null, null, false, null);
+
+        assertEquals(1, updated);
+        assertNotEquals(etag, ChangeCounter.entityETag(ticketRepository.findVersionById(matched.getId()).orElseThrow()));
+        assertEquals(other.getVersion(), ticketRepository.findVersionById(other.getId()).orElseThrow());
+        assertEquals(TicketPriority.LOW, ticketRepository.findById(matched.getId()).orElseThrow().getPriority());
+    }
+
+    private static Ticket ticket(Long projectId) {
+        return new Ticket(0L, "Bulk " + projectId, "Description", TicketStatus.NEW, TicketType.BUG,
+                TicketPriority.HIGH, 0, 5, LocalDateTime.of(2024, 1, 1, 9, 0), null, projectId, 1L);
+    }
+}
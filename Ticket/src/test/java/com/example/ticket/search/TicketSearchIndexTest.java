@@ -0,0 +1,72 @@
+package com.example.ticket.search;
+
+import com.example.ticket.dto.TicketSearchHit;
+import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.TicketPriority;
+import com.example.ticket.enums.TicketStatus;
+import com.example.ticket.enums.TicketType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketSearchIndexTest {
+
+    private TicketSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TicketSearchIndex();
+        index.rebuild(List.of(
+                ticket(1L, "Database timeout", "Queries to the reporting database time out"),
+                ticket(2L, "Login error", "Users see a database error after login"),
+                ticket(3L, "Update logo", "Replace the logo in the header")).iterator());
+    }
+
+    @Test
+    void ranksTitleMatchesFirst() {
+        List<TicketSearchHit> hits = index.search("database", 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(TicketSearchHit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void matchesLastTermAsPrefix() {
+        List<TicketSearchHit> hits = index.search("lo", 10);
+
+        assertEquals(List.of(2L, 3L), hits.stream().map(TicketSearchHit::id).sorted().toList());
+    }
+
+    @Test
+    void respectsLimit() {
+        assertEquals(1, index.search("database", 1).size());
+    }
+
+    @Test
+    void indexReplacesPreviousVersionAndDeleteRemoves() {
+        index.index(ticket(3L, "Database migration", "Move to the new cluster"));
+
+        assertTrue(index.search("logo", 10).isEmpty());
+        assertEquals(3, index.search("database", 10).size());
+
+        index.delete(3L);
+
+        assertEquals(2, index.search("database", 10).size());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void tokenizeIgnoresCaseAndPunctuation() {
+        assertEquals(List.of("can", "t", "log", "in", "v2"), TicketSearchIndex.tokenize("Can't LOG-in (v2)"));
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    private static Ticket ticket(long id, String title, String description) {
+        return new Ticket(id, title, description, TicketStatus.NEW, TicketType.BUG, TicketPriority.LOW,
+                0, 1, LocalDateTime.now(), null, 1L, 1L);
+    }
+}
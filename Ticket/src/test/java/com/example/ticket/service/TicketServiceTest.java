@@ -1,30 +1,77 @@
 package com.example.ticket.service;
 
+import com.example.ticket.archive.TicketArchive;
+import com.example.ticket.cache.ReferenceDataCache;
+import com.example.ticket.cache.ReferenceIdReplica;
+import com.example.ticket.dto.CursorPage;
+import com.example.ticket.dto.CycleTimeStats;
+import com.example.ticket.dto.DailyFlow;
 import com.example.ticket.dto.People;
 import com.example.ticket.dto.Project;
+import com.example.ticket.dto.ProjectProgressSummary;
+import com.example.ticket.dto.ProjectTicketProgress;
+import com.example.ticket.dto.SlaBreach;
+import com.example.ticket.dto.SlaCandidate;
+import com.example.ticket.dto.TicketBatchResult;
+import com.example.ticket.dto.TicketChangeSet;
 import com.example.ticket.dto.TicketDTO;
+import com.example.ticket.dto.TicketFilter;
+import com.example.ticket.dto.TicketFlow;
+import com.example.ticket.dto.TicketProgress;
+import com.example.ticket.dto.TicketSearchCriteria;
 import com.example.ticket.entity.Ticket;
+import com.example.ticket.enums.CycleTimeGroup;
 import com.example.ticket.enums.TicketPriority;
 import com.example.ticket.enums.TicketStatus;
 import com.example.ticket.enums.TicketType;
+import com.example.ticket.readmodel.ProjectProgressRollups;
+import com.example.ticket.readmodel.ProjectTicketCounts;
+import com.example.ticket.readmodel.SlaBreachQueue;
+import com.example.ticket.readmodel.TicketFlowStats;
 import com.example.ticket.repository.TicketRepository;
+import com.example.ticket.search.TicketSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +83,59 @@ class TicketServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private Executor downstreamExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private ReferenceDataCache referenceDataCache = new ReferenceDataCache(100, 60000, 1000);
+
+    @Spy
+    private ReferenceIdReplica referenceIdReplica = new ReferenceIdReplica(mock(RestTemplate.class), 1000, 600000, 100);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TicketSearchIndex ticketSearchIndex = new TicketSearchIndex();
+
+    @Spy
+    private ProjectTicketCounts projectTicketCounts = new ProjectTicketCounts();
+
+    @Spy
+    private ProjectProgressRollups projectProgressRollups = new ProjectProgressRollups();
+
+    @Spy
+    private TicketFlowStats ticketFlowStats = new TicketFlowStats();
+
+    @Spy
+    private SlaPolicy slaPolicy = new SlaPolicy(Duration.ofDays(2), Duration.ofDays(3), Duration.ofDays(5), Duration.ofDays(10), 0.8);
+
+    @Spy
+    private SlaBreachQueue slaBreachQueue = new SlaBreachQueue(slaPolicy);
+
+    @Mock
+    private TicketArchive ticketArchive;
+
+    @Spy
+    private ChangeCounter changeCounter = new ChangeCounter();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate();
+
     @InjectMocks
     private TicketService ticketService;
 
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.setTransactionManager(transactionManager);
+    }
+
     @Test
     void getAllTickets() {
         List<Ticket> tickets = new ArrayList<>();
@@ -53,6 +150,46 @@ class TicketServiceTest {
         verify(ticketRepository, times(1)).findAll();
     }
 
+    @Test
+    void getTicketsPage() {
+        Ticket ticket1 = new Ticket();
+        ticket1.setId(11L);
+        Ticket ticket2 = new Ticket();
+        ticket2.setId(12L);
+        Ticket ticket3 = new Ticket();
+        ticket3.setId(13L);
+        when(ticketRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3)))
+                .thenReturn(List.of(ticket1, ticket2, ticket3));
+
+        CursorPage<Ticket> page = ticketService.getTicketsPage(CursorPage.encodeCursor(10L), 2);
+
+        assertEquals(List.of(ticket1, ticket2), page.items());
+        assertEquals(12L, CursorPage.decodeCursor(page.nextCursor()));
+        assertThrows(IllegalArgumentException.class, () -> ticketService.getTicketsPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> ticketService.getTicketsPage("not-a-cursor", 2));
+    }
+
+    @Test
+    void exportTickets() throws Exception {
+        Ticket ticket1 = new Ticket();
+        ticket1.setId(1L);
+        ticket1.setTitle("Ticket 1");
+        Ticket ticket2 = new Ticket();
+        ticket2.setId(2L);
+        ticket2.setTitle("Ticket 2");
+        when(ticketRepository.streamAllOrderById()).thenReturn(Stream.of(ticket1, ticket2));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ticketService.exportTickets(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Ticket 1", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+        verify(entityManager).detach(ticket1);
+        verify(entityManager).detach(ticket2);
+    }
+
     @Test
     void getTicketById() {
         Long ticketId = 1L;
@@ -106,6 +243,38 @@ class TicketServiceTest {
         assertEquals(people.getName(), ticketDTO.getPeople().getName());
     }
 
+    @Test
+    void getAllTicketsEnriched() {
+        Ticket ticket1 = new Ticket();
+        ticket1.setId(1L);
+        ticket1.setProjectId(1L);
+        ticket1.setPeopleId(1L);
+        Ticket ticket2 = new Ticket();
+        ticket2.setId(2L);
+        ticket2.setProjectId(1L);
+        ticket2.setPeopleId(2L);
+
+        when(ticketRepository.findAll()).thenReturn(List.of(ticket1, ticket2));
+
+        Project project = new Project(1L, "Test Project", null, null);
+        when(restTemplate.getForEntity("http://localhost:9092/projects/batch?ids=1", Project[].class))
+                .thenReturn(new ResponseEntity<>(new Project[]{project}, HttpStatus.OK));
+
+        People people1 = new People(1L, "Person 1", null);
+        People people2 = new People(2L, "Person 2", null);
+        when(restTemplate.getForEntity(startsWith("http://localhost:9094/people/batch?ids="), eq(People[].class)))
+                .thenReturn(new ResponseEntity<>(new People[]{people1, people2}, HttpStatus.OK));
+
+        List<TicketDTO> ticketDTOS = ticketService.getAllTicketsEnriched();
+
+        assertEquals(2, ticketDTOS.size());
+        assertEquals("Test Project", ticketDTOS.get(0).getProject().getName());
+        assertEquals("Test Project", ticketDTOS.get(1).getProject().getName());
+        assertEquals("Person 1", ticketDTOS.get(0).getPeople().getName());
+        assertEquals("Person 2", ticketDTOS.get(1).getPeople().getName());
+        verify(restTemplate, times(2)).getForEntity(anyString(), any());
+    }
+
     @Test
     void createTicket() {
         Ticket ticket = new Ticket();
@@ -134,6 +303,108 @@ class TicketServiceTest {
         assertEquals(ticket, createdTicket);
     }
 
+    @Test
+    void createTickets() {
+        Ticket valid = new Ticket();
+        valid.setTitle("Ticket 1");
+        valid.setDescription("Description 1");
+        valid.setProjectId(1L);
+        valid.setPeopleId(1L);
+        Ticket unknownProject = new Ticket();
+        unknownProject.setTitle("Ticket 2");
+        unknownProject.setDescription("Description 2");
+        unknownProject.setProjectId(2L);
+        unknownProject.setPeopleId(1L);
+        Ticket noTitle = new Ticket();
+        noTitle.setTitle("   ");
+        noTitle.setDescription("Description 3");
+        noTitle.setProjectId(1L);
+        noTitle.setPeopleId(1L);
+
+        when(restTemplate.getForEntity(startsWith("http://localhost:9092/projects/batch?ids="), eq(Project[].class)))
+                .thenReturn(new ResponseEntity<>(new Project[]{new Project(1L, "Project 1", null, null)}, HttpStatus.OK));
+        when(restTemplate.getForEntity("http://localhost:9094/people/batch?ids=1", People[].class))
+                .thenReturn(new ResponseEntity<>(new People[]{new People(1L, "Person 1", null)}, HttpStatus.OK));
+        when(ticketRepository.saveAll(List.of(valid))).thenAnswer(invocation -> {
+            valid.setId(100L);
+            return List.of(valid);
+        });
+
+        List<TicketBatchResult> results = ticketService.createTickets(List.of(valid, unknownProject, noTitle));
+
+        InOrder order = inOrder(restTemplate, transactionManager, ticketRepository);
+        order.verify(restTemplate, times(2)).getForEntity(anyString(), any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(ticketRepository).saveAll(any());
+        order.verify(transactionManager).commit(any());
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).created());
+        assertEquals(100L, results.get(0).id());
+        assertFalse(results.get(1).created());
+        assertEquals("Project with id: 2 not found", results.get(1).error());
+        assertFalse(results.get(2).created());
+        assertEquals("Ticket object cannot be null or empty", results.get(2).error());
+        verify(restTemplate, times(2)).getForEntity(anyString(), any());
+    }
+
+    @Test
+    void createTicketWhenDownstreamExceedsDeadline() {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Test Ticket");
+        ticket.setDescription("Test Description");
+        ticket.setProjectId(1L);
+        ticket.setPeopleId(1L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(ticketService, "downstreamExecutor", executor);
+        ReflectionTestUtils.setField(ticketService, "downstreamDeadlineMs", 50L);
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), eq(Project.class))).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return new ResponseEntity<>(new Project(), HttpStatus.OK);
+        });
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), eq(People.class)))
+                .thenReturn(new ResponseEntity<>(new People(), HttpStatus.OK));
+
+        try {
+            long start = System.nanoTime();
+            assertThrows(DownstreamUnavailableException.class, () -> ticketService.createTicket(ticket));
+            assertTrue(System.nanoTime() - start < 400_000_000L);
+            verify(ticketRepository, never()).save(any(Ticket.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void createTicketFailsFastWhenTheDownstreamExecutorIsSaturated() {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Test Ticket");
+        ticket.setDescription("Test Description");
+        ticket.setProjectId(1L);
+        ticket.setPeopleId(1L);
+        ReflectionTestUtils.setField(ticketService, "downstreamExecutor", (Executor) command -> {
+            throw new RejectedExecutionException("saturated");
+        });
+
+        assertThrows(DownstreamUnavailableException.class, () -> ticketService.createTicket(ticket));
+        verify(restTemplate, never()).exchange(anyString(), any(), any(), any(Class.class));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void getProjectByIdServedFromCache() {
+        Project project = new Project(1L, "Test Project", null, null);
+        when(restTemplate.exchange(eq("http://localhost:9092/projects/1"), eq(HttpMethod.GET), any(), eq(Project.class)))
+                .thenReturn(new ResponseEntity<>(project, HttpStatus.OK));
+
+        assertEquals(project, ticketService.getProjectById(1L));
+        assertEquals(project, ticketService.getProjectById(1L));
+
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(), eq(Project.class));
+    }
+
     @Test
     void updateTicket() {
         Long id = 1L;
@@ -141,7 +412,7 @@ class TicketServiceTest {
                 TicketPriority.LOW, 0, 10, LocalDateTime.now(), null, 1L, 1L);
         when(ticketRepository.findById(id)).thenReturn(Optional.empty());
         Exception exception = assertThrows(EntityNotFoundException.class, () -> {
-            ticketService.updateTicket(updatedTicket);
+            ticketService.updateTicket(updatedTicket, null);
         });
 
         String expectedMessage = "Ticket with id: " + id + " not found";
@@ -155,6 +426,46 @@ class TicketServiceTest {
         Long id = 1L;
         ticketService.deleteTicket(id);
         verify(ticketRepository, times(1)).deleteById(id);
+        verify(ticketArchive).delete(id);
+    }
+
+    @Test
+    void bulkUpdate() {
+        TicketFilter filter = new TicketFilter(null, 1L, null, TicketStatus.IN_PROGRESS);
+        TicketChangeSet changes = new TicketChangeSet(TicketStatus.DONE, null, null, null, null);
+        when(ticketRepository.findIdsForBulkUpdate(1L, null, TicketStatus.IN_PROGRESS)).thenReturn(List.of(4L, 5L, 6L));
+        when(ticketRepository.bulkUpdate(eq(false), eq(List.of(4L, 5L, 6L)), eq(1L), isNull(), eq(TicketStatus.IN_PROGRESS),
+                eq(TicketStatus.DONE), isNull(), isNull(), isNull(), isNull(), eq(true), any(LocalDateTime.class)))
+                .thenReturn(3);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        TicketFlow flow = new TicketFlow(4L, 1L, TicketPriority.HIGH, TicketType.BUG, TicketStatus.DONE,
+                createdAt, createdAt.plusDays(1));
+        when(ticketRepository.findFlowsByIdIn(List.of(4L, 5L, 6L))).thenReturn(List.of(flow));
+
+        String listingTag = changeCounter.collectionETag();
+        assertEquals(3, ticketService.bulkUpdate(filter, changes));
+        assertNotEquals(listingTag, changeCounter.collectionETag());
+        verify(ticketFlowStats).apply(flow);
+        verify(ticketRepository, never()).findAllFlows();
+        verify(ticketArchive, never()).forEach(any());
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.bulkUpdate(new TicketFilter(List.of(), null, null, null), changes));
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.bulkUpdate(filter, new TicketChangeSet(null, null, null, -1, null)));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void bulkUpdateChecksTheAssigneeBeforeItsTransaction() {
+        TicketFilter filter = new TicketFilter(List.of(1L, 2L), null, null, null);
+        when(restTemplate.exchange(eq("http://localhost:9094/people/9"), eq(HttpMethod.GET), any(), eq(People.class)))
+                .thenThrow(new EntityNotFoundException("People with id: 9 not found"));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> ticketService.bulkUpdate(filter, new TicketChangeSet(null, null, null, null, 9L)));
+        verifyNoInteractions(transactionManager);
+        verify(ticketRepository, never()).bulkUpdate(anyBoolean(), any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), anyBoolean(), any());
     }
 
     @Test
@@ -191,9 +502,299 @@ class TicketServiceTest {
 
     @Test
     void getTopProjectTicketsByProgress() {
+        Project project1 = new Project(1L, "Project 1", null, null);
+        Project project2 = new Project(2L, "Project 2", null, null);
+        when(restTemplate.getForEntity("http://localhost:9092/projects", Project[].class))
+                .thenReturn(new ResponseEntity<>(new Project[]{project1, project2}, HttpStatus.OK));
+
+        when(ticketRepository.findAllProgress())
+                .thenReturn(List.of(new TicketProgress(3L, 1L, 10, 5), new TicketProgress(4L, 1L, 10, 0)));
+        Ticket topTicket = new Ticket();
+        topTicket.setId(3L);
+        when(ticketRepository.findAllById(List.of(3L))).thenReturn(List.of(topTicket));
+
+        List<ProjectTicketProgress> result = ticketService.getTopProjectTicketsByProgress();
+
+        assertEquals(1, result.size());
+        assertEquals(project1, result.get(0).project());
+        assertEquals(topTicket, result.get(0).topTicket());
+        assertEquals(25.0, result.get(0).progressPercentage());
+        verify(ticketRepository, never()).findAll();
+    }
+
+    @Test
+    void progressRollupsFollowWrites() {
+        when(ticketRepository.findAllProgress())
+                .thenReturn(List.of(new TicketProgress(3L, 1L, 10, 5), new TicketProgress(4L, 1L, 10, 0)));
+        ticketService.rebuildProgressRollups();
+        Ticket ticket = new Ticket(4L, "Ticket 4", "Description 4", TicketStatus.IN_PROGRESS, TicketType.BUG, TicketPriority.HIGH, 0, 10, LocalDateTime.now(), null, 1L, 1L);
+        when(ticketRepository.findById(4L)).thenReturn(Optional.of(ticket));
+
+        ticketService.updateProgress(4L, 8);
+
+        assertEquals(List.of(new ProjectProgressSummary(1L, 20L, 13L, 4L)), projectProgressRollups.summaries());
+
+        ticketService.deleteTicket(4L);
+
+        assertEquals(List.of(new ProjectProgressSummary(1L, 10L, 5L, 3L)), projectProgressRollups.summaries());
+        verify(ticketRepository, times(1)).findAllProgress();
+    }
+
+    @Test
+    void flowStatsFollowStatusTransitions() {
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(1);
+        when(ticketRepository.findAllFlows()).thenReturn(List.of());
+        ticketService.rebuildFlowStats();
+        Ticket ticket = new Ticket(4L, "Ticket 4", "Description 4", TicketStatus.IN_PROGRESS, TicketType.BUG, TicketPriority.HIGH, 0, 10, createdAt, null, 1L, 1L);
+        when(ticketRepository.findById(4L)).thenReturn(Optional.of(ticket));
+
+        ticketService.updateStatus(4L, TicketStatus.DONE);
+
+        LocalDate today = LocalDate.now();
+        List<DailyFlow> flow = ticketService.getDailyFlow(createdAt.toLocalDate(), today);
+        assertEquals(1, flow.stream().mapToLong(DailyFlow::created).sum());
+        assertEquals(1, flow.stream().mapToLong(DailyFlow::resolved).sum());
+        List<CycleTimeStats> cycleTimes = ticketService.getCycleTimes(CycleTimeGroup.PRIORITY, 1L, null, null);
+        assertEquals(1, cycleTimes.size());
+        assertEquals("HIGH", cycleTimes.get(0).group());
+        assertTrue(cycleTimes.get(0).p50Seconds() >= 3600);
+
+        ticketService.updateStatus(4L, TicketStatus.IN_PROGRESS);
+
+        assertTrue(ticketService.getCycleTimes(CycleTimeGroup.PRIORITY, null, null, null).isEmpty());
+        verify(ticketRepository, times(1)).findAllFlows();
+    }
+
+    @Test
+    void getDailyFlowRejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.getDailyFlow(LocalDate.now(), LocalDate.now().minusDays(1)));
+    }
+
+    @Test
+    void slaBreachesScanOpenTicketsPerPriority() {
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(3);
+        when(ticketRepository.findSlaCandidates(eq(SlaPolicy.OPEN_STATUSES), any(TicketPriority.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(ticketRepository.findSlaCandidates(eq(SlaPolicy.OPEN_STATUSES), eq(TicketPriority.HIGH), any(LocalDateTime.class)))
+                .thenReturn(List.of(new SlaCandidate(4L, 1L, TicketPriority.HIGH, TicketStatus.NEW, createdAt)));
+
+        List<SlaBreach> breaches = ticketService.getSlaBreaches(false, 10);
+
+        assertEquals(1, breaches.size());
+        assertEquals(createdAt.plusDays(2), breaches.get(0).dueAt());
+        verify(ticketRepository, times(TicketPriority.values().length))
+                .findSlaCandidates(any(), any(), any());
+
+        Ticket ticket = new Ticket(4L, "Ticket 4", "Description 4", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 10, createdAt, null, 1L, 1L);
+        when(ticketRepository.findById(4L)).thenReturn(Optional.of(ticket));
+        ticketService.updateStatus(4L, TicketStatus.DONE);
+
+        assertTrue(ticketService.getSlaBreaches(true, 10).isEmpty());
+    }
+
+    @Test
+    void getSlaBreachesRejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> ticketService.getSlaBreaches(false, 0));
+    }
+
+    @Test
+    void archiveResolvedTicketsMovesThemOutOfTheTable() {
+        Ticket ticket = new Ticket(4L, "Ticket 4", "Description 4", TicketStatus.DONE, TicketType.BUG, TicketPriority.HIGH, 10, 10, LocalDateTime.now().minusYears(1), LocalDateTime.now().minusYears(1), 1L, 1L);
+        when(ticketRepository.findArchivable(anyCollection(), any(LocalDateTime.class), any())).thenReturn(List.of(ticket));
+        when(ticketRepository.deleteArchivable(eq(4L), eq(0L), anyCollection())).thenReturn(1);
+        String etag = changeCounter.collectionETag();
+
+        assertEquals(1, ticketService.archiveResolvedTickets(10));
+
+        verify(ticketArchive).append(List.of(ticket));
+        verify(projectTicketCounts).decrement(1L);
+        assertNotEquals(etag, changeCounter.collectionETag());
+    }
+
+    @Test
+    void archiveResolvedTicketsKeepsTicketsReopenedSinceTheyWereRead() {
+        Ticket reopened = new Ticket(4L, "Ticket 4", "Description 4", TicketStatus.DONE, TicketType.BUG, TicketPriority.HIGH, 10, 10, LocalDateTime.now().minusYears(1), LocalDateTime.now().minusYears(1), 1L, 1L);
+        Ticket resolved = new Ticket(5L, "Ticket 5", "Description 5", TicketStatus.DONE, TicketType.BUG, TicketPriority.HIGH, 10, 10, LocalDateTime.now().minusYears(1), LocalDateTime.now().minusYears(1), 2L, 1L);
+        when(ticketRepository.findArchivable(anyCollection(), any(LocalDateTime.class), any())).thenReturn(List.of(reopened, resolved));
+        // the reopen committed between the select and the delete, so the guarded delete misses it
+        when(ticketRepository.deleteArchivable(eq(4L), eq(0L), anyCollection())).thenReturn(0);
+        when(ticketRepository.deleteArchivable(eq(5L), eq(0L), anyCollection())).thenReturn(1);
+
+        assertEquals(1, ticketService.archiveResolvedTickets(10));
+
+        verify(ticketArchive).append(List.of(resolved));
+        verify(projectTicketCounts).decrement(2L);
+        verify(projectTicketCounts, never()).decrement(1L);
+    }
+
+    @Test
+    void archiveResolvedTicketsWritesNoSegmentWhenEveryTicketWasReopened() {
+        Ticket reopened = new Ticket(4L, "Ticket 4", "Description 4", TicketStatus.DONE, TicketType.BUG, TicketPriority.HIGH, 10, 10, LocalDateTime.now().minusYears(1), LocalDateTime.now().minusYears(1), 1L, 1L);
+        when(ticketRepository.findArchivable(anyCollection(), any(LocalDateTime.class), any())).thenReturn(List.of(reopened));
+
+        assertEquals(0, ticketService.archiveResolvedTickets(10));
+
+        verify(ticketArchive, never()).append(any());
+    }
+
+    @Test
+    void getTicketByIdFallsBackToTheArchive() {
+        Ticket ticket = new Ticket(4L, "Ticket 4", "Description 4", TicketStatus.DONE, TicketType.BUG, TicketPriority.HIGH, 10, 10, LocalDateTime.now().minusYears(1), LocalDateTime.now().minusYears(1), 1L, 1L);
+        Project project = new Project();
+        project.setId(1L);
+        People people = new People();
+        people.setId(1L);
+        when(ticketRepository.findById(4L)).thenReturn(Optional.empty());
+        when(ticketArchive.find(4L)).thenReturn(Optional.of(ticket));
+        when(restTemplate.getForObject("http://PROJECT/projects/1", Project.class)).thenReturn(project);
+        when(restTemplate.getForObject("http://PEOPLE/people/1", People.class)).thenReturn(people);
+
+        ResponseEntity<?> response = ticketService.getTicketById(4L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(4L, ((TicketDTO) response.getBody()).getId());
+    }
+
+    @Test
+    void checkProgressRollupsRebuildsOnDrift() {
+        when(ticketRepository.findAllProgress()).thenReturn(List.of(new TicketProgress(3L, 1L, 10, 5)));
+        ticketService.rebuildProgressRollups();
+        when(ticketRepository.findProgressSummaryByProject())
+                .thenReturn(List.of(new ProjectProgressSummary(1L, 10L, 5L, 3L)))
+                .thenReturn(List.of(new ProjectProgressSummary(1L, 10L, 7L, 3L)));
+
+        assertTrue(ticketService.checkProgressRollups());
+        assertFalse(ticketService.checkProgressRollups());
+        verify(ticketRepository, times(2)).findAllProgress();
     }
 
     @Test
     void getTicketCountByProject() {
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{1L, 2L});
+        counts.add(new Object[]{2L, 1L});
+        when(ticketRepository.findTicketCountByProject()).thenReturn(counts);
+        Ticket ticket = new Ticket(1L, "Ticket 1", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+
+        assertEquals(Map.of(1L, 2, 2L, 1), ticketService.getTicketCountByProject());
+
+        ticketService.deleteTicket(1L);
+
+        assertEquals(Map.of(1L, 1, 2L, 1), ticketService.getTicketCountByProject());
+        verify(ticketRepository, times(1)).findTicketCountByProject();
+    }
+
+    @Test
+    void patchTicket() throws Exception {
+        Ticket ticket = new Ticket(1L, "Ticket 1", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.saveAndFlush(ticket)).thenReturn(ticket);
+
+        JsonNode patch = new ObjectMapper().readTree("{\"title\": \"Ticket 2\", \"id\": 99, \"version\": 0}");
+        Ticket result = ticketService.patchTicket(1L, patch, null);
+
+        assertEquals("Ticket 2", result.getTitle());
+        assertEquals(1L, result.getId());
+        verify(ticketRepository).saveAndFlush(ticket);
+    }
+
+    @Test
+    void patchTicketChecksTheProjectAndAssigneeBeforeItsTransaction() throws Exception {
+        Ticket ticket = new Ticket(1L, "Ticket 1", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.saveAndFlush(ticket)).thenReturn(ticket);
+        doReturn(true).when(referenceIdReplica).containsPeople(2L);
+        when(restTemplate.exchange(eq("http://localhost:9092/projects/5"), eq(HttpMethod.GET), any(), eq(Project.class)))
+                .thenThrow(new EntityNotFoundException("Project with id: 5 not found"));
+
+        JsonNode unknownProject = new ObjectMapper().readTree("{\"projectId\": 5, \"peopleId\": 2}");
+        assertThrows(EntityNotFoundException.class, () -> ticketService.patchTicket(1L, unknownProject, null));
+        verifyNoInteractions(transactionManager);
+        verify(ticketRepository, never()).findById(any());
+
+        JsonNode knownAssignee = new ObjectMapper().readTree("{\"peopleId\": \"2\"}");
+        assertEquals(2L, ticketService.patchTicket(1L, knownAssignee, null).getPeopleId());
+        verify(restTemplate, never()).exchange(contains("/people/"), any(), any(), eq(People.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void patchTicketWithStaleVersion() throws Exception {
+        Ticket ticket = new Ticket(1L, "Ticket 1", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+        ticket.setVersion(3);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+
+        JsonNode patch = new ObjectMapper().readTree("{\"title\": \"Ticket 2\", \"version\": 2}");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> ticketService.patchTicket(1L, patch, null));
+        assertEquals("Ticket 1", ticket.getTitle());
+        verify(ticketRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateTicketAtAnotherVersionThanIfMatch() {
+        Ticket ticket = new Ticket(1L, "Ticket 1", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+        ticket.setVersion(3);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        Ticket update = new Ticket(1L, "Ticket 2", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> ticketService.updateTicket(update, 2L));
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> ticketService.patchTicket(1L, new ObjectMapper().createObjectNode().put("title", "Ticket 2"), 2L));
+        assertEquals("Ticket 1", ticket.getTitle());
+        verify(ticketRepository, never()).save(any());
+        verify(ticketRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void searchTickets() {
+        Ticket ticket = new Ticket(1L, "Ticket 1", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+        when(ticketRepository.findBy(any(Specification.class), any())).thenReturn(List.of(ticket));
+
+        TicketSearchCriteria criteria = new TicketSearchCriteria(TicketStatus.NEW, TicketPriority.HIGH, null, 1L, null, null, null);
+        List<Ticket> result = ticketService.searchTickets(criteria, "createdAt", Sort.Direction.DESC, 10);
+
+        assertEquals(List.of(ticket), result);
+        verify(ticketRepository, never()).findAll();
+    }
+
+    @Test
+    void searchTicketsWithInvalidSortField() {
+        TicketSearchCriteria criteria = new TicketSearchCriteria(null, null, null, null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.searchTickets(criteria, "password", Sort.Direction.ASC, 10));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void fullTextSearchFollowsWrites() {
+        Ticket ticket = new Ticket(1L, "Login page broken", "Users cannot sign in", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 1L);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+
+        Ticket update = new Ticket(1L, "Checkout timeout", "Payment gateway is slow", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, null, null, 1L, 1L);
+        ticketService.updateTicket(update, null);
+
+        assertTrue(ticketService.fullTextSearch("login", 10).isEmpty());
+        assertEquals(1L, ticketService.fullTextSearch("payment", 10).get(0).id());
+
+        ticketService.deleteTicket(1L);
+
+        assertTrue(ticketService.fullTextSearch("payment", 10).isEmpty());
+        verify(ticketRepository, never()).findAll();
+        assertThrows(IllegalArgumentException.class, () -> ticketService.fullTextSearch(" ", 10));
+    }
+
+    @Test
+    void createTicketWithReplicatedIds() {
+        Ticket ticket = new Ticket(1L, "Ticket 1", "Description 1", TicketStatus.NEW, TicketType.BUG, TicketPriority.HIGH, 0, 5, LocalDateTime.now(), null, 1L, 2L);
+        doReturn(true).when(referenceIdReplica).containsProject(1L);
+        doReturn(true).when(referenceIdReplica).containsPeople(2L);
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+
+        assertEquals(ticket, ticketService.createTicket(ticket));
+        verifyNoInteractions(restTemplate);
     }
-}
\ No newline at end of file
+}